@@ -2,6 +2,7 @@ plugins {
     id("org.springframework.boot") version "3.3.4"
     id("io.spring.dependency-management") version "1.1.6"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.2"
     java
 }
 
@@ -22,8 +23,20 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    // Reactive read path, used with spring.main.web-application-type=reactive
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("org.apache.commons:commons-lang3:3.14.0")
 
+    // Cache latency histograms
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+    // In-process near cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    // JDBC user store on an embedded H2 database, pooled by HikariCP
+    implementation("org.springframework.boot:spring-boot-starter-jdbc")
+    runtimeOnly("com.h2database:h2")
+
     // Jackson date/time
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
 
@@ -35,11 +48,13 @@ dependencies {
     testImplementation("org.assertj:assertj-core:3.27.6")
     testImplementation("org.junit.jupiter:junit-jupiter:6.0.0")
     testImplementation("io.projectreactor:reactor-test")
-    testImplementation("org.springframework.boot:spring-boot-starter-webflux")
 
     // JUnit Platform launcher
     testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.0")
     testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
+
+    // Micro benchmarks, Redis-touching ones run against an embedded server
+    jmh("com.github.codemonstur:embedded-redis:1.4.3")
 }
 
 jacoco {
@@ -47,7 +62,9 @@ jacoco {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
 
     reports {
         junitXml.required.set(true)
@@ -67,6 +84,36 @@ tasks.test {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<Test>("loadTest") {
+    description = "Drives a skewed workload against GET /api/users/{id} and writes build/reports/load/users-load.json."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    // Forward -Pload.users=... -Pload.distribution=... etc. to the workload driver
+    systemProperties(project.properties.filterKeys { it.startsWith("load.") })
+    outputs.upToDateWhen { false }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    benchmarkMode.set(listOf("avgt"))
+    timeUnit.set("ns")
+    // e.g. -Pjmh.includes=UserSerializerBenchmark to run a subset
+    (findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+    // Machine readable results, diff them across commits to spot regressions
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
 
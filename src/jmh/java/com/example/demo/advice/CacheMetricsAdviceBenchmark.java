@@ -0,0 +1,106 @@
+package com.example.demo.advice;
+
+import com.example.demo.model.CacheMetricsResponse;
+import com.example.demo.model.CacheOperation;
+import com.example.demo.properties.CacheMetricsProperties;
+import com.example.demo.service.CacheMetricsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.cache.annotation.Cacheable;
+
+/**
+ * Overhead of {@link CacheMetricsAdvice#invoke} on the JDK proxy path compared with a direct call and with a proxy
+ * without advice. The metrics service does nothing, so only the interception itself is measured.
+ */
+@State(Scope.Benchmark)
+public class CacheMetricsAdviceBenchmark {
+
+    private Lookup direct;
+    private Lookup proxyWithoutAdvice;
+    private Lookup proxyWithAdvice;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        direct = new UserLookup();
+        proxyWithoutAdvice = proxy(null);
+        proxyWithAdvice = proxy(new CacheMetricsAdvice(new NoOpCacheMetricsService(), new CacheMetricsProperties()));
+    }
+
+    @Benchmark
+    public String directCall() {
+        return direct.find(++id);
+    }
+
+    @Benchmark
+    public String proxyWithoutAdvice() {
+        return proxyWithoutAdvice.find(++id);
+    }
+
+    @Benchmark
+    public String proxyWithAdvice() {
+        return proxyWithAdvice.find(++id);
+    }
+
+    private static Lookup proxy(final CacheMetricsAdvice advice) {
+        final ProxyFactory proxyFactory = new ProxyFactory(new UserLookup());
+        proxyFactory.addInterface(Lookup.class);
+        if (advice != null) {
+            proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, Cacheable.class, true), advice));
+        }
+        return (Lookup) proxyFactory.getProxy();
+    }
+
+    public interface Lookup {
+        String find(long id);
+    }
+
+    public static class UserLookup implements Lookup {
+        @Override
+        @Cacheable("users")
+        public String find(final long id) {
+            return "user";
+        }
+    }
+
+    static class NoOpCacheMetricsService implements CacheMetricsService {
+        @Override
+        public void incrementHitCount(final String cacheName) {
+        }
+
+        @Override
+        public void incrementMissCount(final String cacheName) {
+        }
+
+        @Override
+        public void incrementLoadCount(final String cacheName) {
+        }
+
+        @Override
+        public void incrementPutCount(final String cacheName) {
+        }
+
+        @Override
+        public void incrementEvictionCount(final String cacheName) {
+        }
+
+        @Override
+        public void recordLatency(final String cacheName, final CacheOperation operation, final long nanos) {
+        }
+
+        @Override
+        public void resetMetrics(final String cacheName) {
+        }
+
+        @Override
+        public CacheMetricsResponse generateCacheMetrics(final String cacheName) {
+            return null;
+        }
+    }
+}
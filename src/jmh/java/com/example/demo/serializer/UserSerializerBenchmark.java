@@ -0,0 +1,49 @@
+package com.example.demo.serializer;
+
+import com.example.demo.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+
+/**
+ * Encode/decode cost of the cached {@link User} value in both supported formats.
+ */
+@State(Scope.Benchmark)
+public class UserSerializerBenchmark {
+
+    private static final User USER = new User(1_234_567L, "Alice Example", "alice@example.com",
+        Instant.parse("2025-10-06T00:00:00.123Z"));
+
+    @Param({"JSON", "BINARY"})
+    private String format;
+
+    private RedisSerializer<User> serializer;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        final Jackson2JsonRedisSerializer<User> json = new Jackson2JsonRedisSerializer<>(objectMapper, User.class);
+        serializer = "BINARY".equals(format) ? new UserBinaryRedisSerializer(json) : json;
+        encoded = serializer.serialize(USER);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(USER);
+    }
+
+    @Benchmark
+    public User decode() {
+        return serializer.deserialize(encoded);
+    }
+}
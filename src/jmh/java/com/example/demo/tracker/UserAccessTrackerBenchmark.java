@@ -0,0 +1,80 @@
+package com.example.demo.tracker;
+
+import com.example.demo.properties.AccessTrackerProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cost of {@link UserAccessTracker#recordAccess(Long)} seen by the request thread, writing to Redis directly,
+ * buffering for the periodic flush or counting in a sketch. Runs against an embedded Redis server on a free local
+ * port.
+ */
+@State(Scope.Benchmark)
+public class UserAccessTrackerBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"direct", "buffered", "sketch"})
+    private String mode;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private UserAccessTracker tracker;
+    private Runnable flush;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        final AccessTrackerProperties properties = new AccessTrackerProperties();
+        final StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        if ("sketch".equals(mode)) {
+            final SketchUserAccessTracker sketchTracker = new SketchUserAccessTracker(redisTemplate, properties);
+            tracker = sketchTracker;
+            flush = sketchTracker::publish;
+        } else {
+            properties.setBuffered("buffered".equals(mode));
+            final RedisUserAccessTracker redisTracker = new RedisUserAccessTracker(redisTemplate, properties);
+            tracker = redisTracker;
+            flush = redisTracker::flush;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush() {
+        // Keeps the buffer from filling up and dropping accesses between iterations.
+        flush.run();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public void recordAccess() {
+        tracker.recordAccess(ThreadLocalRandom.current().nextLong(USERS));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.advice;
 
+import com.example.demo.properties.CacheMetricsProperties;
 import com.example.demo.service.CacheMetricsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,11 @@ import org.springframework.stereotype.Component;
  * <p>
  * This implementation uses pure Spring AOP (not AspectJ annotations).
  * </p>
+ * <p>
+ * Hits and misses are inferred from the method result, which cannot tell a cache hit from a successful load. When
+ * the caches are instrumented ({@code redis.spring.demo.metrics.instrument-caches}) they record the real outcome
+ * and this advice only logs.
+ * </p>
  */
 @Component
 public class CacheMetricsAdvice implements MethodInterceptor {
@@ -22,14 +28,18 @@ public class CacheMetricsAdvice implements MethodInterceptor {
     private static final Logger LOGGER = LoggerFactory.getLogger(CacheMetricsAdvice.class);
 
     private final CacheMetricsService cacheMetricsService;
+    private final boolean countHitsAndMisses;
 
     /**
-     * Constructs the {@code CacheMetricsAdvice}.
+     * Constructs the {@code CacheMetricsAdvice}, counting hits and misses only when the caches are not instrumented.
      *
-     * @param cacheMetricsService the metrics service that tracks cache hits and misses
+     * @param cacheMetricsService    the metrics service that tracks cache hits and misses
+     * @param cacheMetricsProperties the metrics settings
      */
-    public CacheMetricsAdvice(final CacheMetricsService cacheMetricsService) {
+    public CacheMetricsAdvice(final CacheMetricsService cacheMetricsService,
+                              final CacheMetricsProperties cacheMetricsProperties) {
         this.cacheMetricsService = cacheMetricsService;
+        this.countHitsAndMisses = !cacheMetricsProperties.isInstrumentCaches();
     }
 
     /**
@@ -50,7 +60,7 @@ public class CacheMetricsAdvice implements MethodInterceptor {
         final Cacheable cacheable = invocation.getMethod().getAnnotation(Cacheable.class);
         final CacheEvict cacheEvict = invocation.getMethod().getAnnotation(CacheEvict.class);
 
-        if (cacheable != null) {
+        if (cacheable != null && countHitsAndMisses) {
             final String cacheName = cacheable.value().length > 0 ? cacheable.value()[0] : "default";
             final boolean isHit = result != null;
 
@@ -0,0 +1,45 @@
+package com.example.demo.cache;
+
+/**
+ * Envelope stored in Redis around a cached value, carrying what is needed to refresh it before it expires.
+ *
+ * @param value         the cached value.
+ * @param computeMillis how long it took to compute the value, in milliseconds.
+ * @param expiresAt     the epoch millis at which the entry expires.
+ * @param staleAt       the epoch millis after which the entry is served stale while it is refreshed, {@code 0} if
+ *                      it never goes stale.
+ */
+public record CacheEntry(
+    Object value,
+    long computeMillis,
+    long expiresAt,
+    long staleAt
+) {
+
+    /**
+     * Creates an entry that never goes stale.
+     *
+     * @param value         the cached value.
+     * @param computeMillis how long it took to compute the value, in milliseconds.
+     * @param expiresAt     the epoch millis at which the entry expires.
+     */
+    public CacheEntry(final Object value, final long computeMillis, final long expiresAt) {
+        this(value, computeMillis, expiresAt, 0);
+    }
+
+    /**
+     * @param now the current epoch millis.
+     * @return whether the entry should be refreshed before being served again.
+     */
+    public boolean isStale(final long now) {
+        return staleAt > 0 && now >= staleAt;
+    }
+
+    /**
+     * @param cached a value read from a cache, either an envelope or a value written without one.
+     * @return the value inside the envelope, or the given value itself.
+     */
+    public static Object unwrap(final Object cached) {
+        return cached instanceof CacheEntry entry ? entry.value() : cached;
+    }
+}
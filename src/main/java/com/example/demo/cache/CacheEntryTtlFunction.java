@@ -0,0 +1,53 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * {@link RedisCacheWriter.TtlFunction} letting a {@link CacheEntry} decide when it expires in Redis.
+ * Values written without an envelope get the configured time-to-live of the cache, and {@code null} values (negative
+ * entries recording that nothing was found) the much shorter negative time-to-live, both shortened by the
+ * {@link TtlJitter}.
+ */
+public class CacheEntryTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    private static final Duration MINIMUM_TTL = Duration.ofMillis(1);
+
+    private final Duration defaultTtl;
+    private final Duration negativeTtl;
+    private final TtlJitter jitter;
+    private final Clock clock;
+
+    /**
+     * @param defaultTtl  the time-to-live of values written without an envelope.
+     * @param negativeTtl the time-to-live of {@code null} values.
+     * @param jitter      the jitter applied to those time-to-lives.
+     */
+    public CacheEntryTtlFunction(final Duration defaultTtl, final Duration negativeTtl, final TtlJitter jitter) {
+        this(defaultTtl, negativeTtl, jitter, Clock.systemUTC());
+    }
+
+    CacheEntryTtlFunction(final Duration defaultTtl, final Duration negativeTtl, final TtlJitter jitter,
+                          final Clock clock) {
+        this.defaultTtl = defaultTtl;
+        this.negativeTtl = negativeTtl;
+        this.jitter = jitter;
+        this.clock = clock;
+    }
+
+    @Override
+    public Duration getTimeToLive(final Object key, final Object value) {
+        if (value instanceof CacheEntry entry && entry.expiresAt() > 0) {
+            // Never persistent: an entry that is already due still gets a minimal TTL.
+            final Duration remaining = Duration.ofMillis(entry.expiresAt() - clock.millis());
+            return remaining.compareTo(MINIMUM_TTL) < 0 ? MINIMUM_TTL : remaining;
+        }
+        if (value == null || value instanceof NullValue) {
+            return jitter.apply(negativeTtl);
+        }
+        return jitter.apply(defaultTtl);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Cache} decorator serving the reads of a Redis cache from local memory, kept coherent by Redis itself.
+ * <p>
+ * Reads go through the {@link ClientTrackingConnection}, so Redis tracks every key read and pushes an invalidation
+ * once it changes, however it was changed: through this cache, the batch or reactive operations, or another
+ * instance. Values are decoded exactly like {@code RedisCache} decodes them, envelopes and negative entries
+ * included. Writes and evictions go to the delegate and drop the local copy right away rather than waiting for the
+ * invalidation. While Redis does not track this client every read is delegated.
+ * </p>
+ */
+public class ClientSideCache implements Cache {
+
+    private final Cache delegate;
+    private final RedisCacheConfiguration cacheConfiguration;
+    private final ClientTrackingConnection trackingConnection;
+
+    /**
+     * @param delegate           the cache writing to Redis.
+     * @param redisCacheManager  the manager owning the Redis configuration of the cache.
+     * @param trackingConnection the connection reading the keys and holding their local copies.
+     */
+    public ClientSideCache(final Cache delegate, final RedisCacheManager redisCacheManager,
+                           final ClientTrackingConnection trackingConnection) {
+        this.delegate = delegate;
+        this.cacheConfiguration = RedisCacheBatchOperations.getCacheConfiguration(redisCacheManager, delegate.getName());
+        this.trackingConnection = trackingConnection;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        if (!trackingConnection.isTracking()) {
+            return delegate.get(key);
+        }
+        final Object stored = trackingConnection.get(toRedisKey(key), this::decode);
+        if (stored == null) {
+            return null;
+        }
+        return new SimpleValueWrapper(stored == NullValue.INSTANCE ? null : stored);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Class<T> type) {
+        final ValueWrapper wrapper = get(key);
+        final Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, value);
+        trackingConnection.invalidate(toRedisKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final ValueWrapper existing = delegate.putIfAbsent(key, value);
+        trackingConnection.invalidate(toRedisKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+        trackingConnection.invalidate(toRedisKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        final boolean evicted = delegate.evictIfPresent(key);
+        trackingConnection.invalidate(toRedisKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        trackingConnection.invalidatePrefix(cacheConfiguration.getKeyPrefixFor(getName()));
+    }
+
+    @Override
+    public boolean invalidate() {
+        final boolean invalidated = delegate.invalidate();
+        trackingConnection.invalidatePrefix(cacheConfiguration.getKeyPrefixFor(getName()));
+        return invalidated;
+    }
+
+    private String toRedisKey(final Object key) {
+        return new String(RedisCacheBatchOperations.serializeKey(cacheConfiguration, getName(), key),
+            StandardCharsets.UTF_8);
+    }
+
+    private Object decode(final byte[] raw) {
+        if (Arrays.equals(raw, RedisCacheBatchOperations.BINARY_NULL_VALUE)) {
+            return NullValue.INSTANCE;
+        }
+        final Object value = cacheConfiguration.getValueSerializationPair().read(ByteBuffer.wrap(raw));
+        return value != null ? value : NullValue.INSTANCE;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.ClientSideCacheStats;
+import com.example.demo.properties.ClientSideCachingProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateAdapter;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A dedicated Redis connection with {@code CLIENT TRACKING} on, and the local copies of the values read through it.
+ * <p>
+ * Redis remembers every key read on this connection and, over RESP3, pushes an {@code invalidate} message on the same
+ * connection once such a key is written, deleted, expired or evicted, whoever changed it. The local copy is dropped
+ * then, so local reads stay coherent without any application-level pub/sub. A value is only kept if no invalidation
+ * of its key arrived while it was being read: the read first parks a marker under the key, which an invalidation
+ * removes. When the connection is lost Redis forgets what it tracked, so every local copy is dropped and nothing is
+ * served locally until tracking is on again.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "redis.spring.demo.client-side-caching", name = "enabled", havingValue = "true")
+public class ClientTrackingConnection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientTrackingConnection.class);
+    private static final String INVALIDATE = "invalidate";
+
+    private final LettuceConnectionFactory connectionFactory;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final RedisConnectionStateAdapter reconnectListener = new RedisConnectionStateAdapter() {
+        @Override
+        public void onRedisDisconnected(final RedisChannelHandler<?, ?> disconnected) {
+            if (disconnected == connection) {
+                LOGGER.warn("Tracking connection lost, dropping every client-side cache entry");
+                tracking = false;
+                invalidateAll();
+            }
+        }
+
+        @Override
+        public void onRedisConnected(final RedisChannelHandler<?, ?> connected, final SocketAddress socketAddress) {
+            if (connected == connection) {
+                enableTracking();
+            }
+        }
+    };
+    private RedisClient redisClient;
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+    private volatile boolean tracking;
+
+    public ClientTrackingConnection(final LettuceConnectionFactory connectionFactory,
+                                    final ClientSideCachingProperties properties,
+                                    final MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.localCache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .build();
+        FunctionCounter.builder("cache.client.gets", hits, LongAdder::sum)
+            .description("Reads of the client-side cache")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.client.gets", misses, LongAdder::sum)
+            .description("Reads of the client-side cache")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.client.invalidations", invalidations, LongAdder::sum)
+            .description("Keys invalidated by Redis in the client-side cache")
+            .register(meterRegistry);
+        Gauge.builder("cache.client.size", localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+            .description("Entries held by the client-side cache")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void connect() {
+        // Share the client of the connection factory, and so its RESP3 protocol setting and its event loops.
+        redisClient = (RedisClient) connectionFactory.getRequiredNativeClient();
+        redisClient.addListener(reconnectListener);
+        connection = redisClient.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        connection.addListener(this::onPushMessage);
+        enableTracking();
+    }
+
+    @PreDestroy
+    public void close() {
+        tracking = false;
+        if (redisClient != null) {
+            redisClient.removeListener(reconnectListener);
+        }
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return whether Redis tracks the keys read on this connection, i.e. whether local copies may be served.
+     */
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Reads a key from local memory, or from Redis through the tracking connection and keeps a local copy.
+     *
+     * @param redisKey the Redis key.
+     * @param decoder  turns the raw Redis value into the value kept locally; must not return {@code null}.
+     * @return the decoded value, or {@code null} if the key does not exist in Redis.
+     */
+    public Object get(final String redisKey, final Function<byte[], Object> decoder) {
+        final Object local = localCache.getIfPresent(redisKey);
+        if (local != null && !(local instanceof LoadMarker)) {
+            hits.increment();
+            return local;
+        }
+        misses.increment();
+        final LoadMarker marker = new LoadMarker();
+        final ConcurrentMap<String, Object> entries = localCache.asMap();
+        final boolean marked = entries.putIfAbsent(redisKey, marker) == null;
+        try {
+            final byte[] raw = connection.sync().get(redisKey);
+            if (raw == null) {
+                return null;
+            }
+            final Object value = decoder.apply(raw);
+            if (marked && tracking) {
+                entries.replace(redisKey, marker, value);
+            }
+            return value;
+        } finally {
+            entries.remove(redisKey, marker);
+        }
+    }
+
+    /**
+     * Drops the local copy of a key, ahead of the invalidation Redis will push for a write done by this instance.
+     *
+     * @param redisKey the Redis key.
+     */
+    public void invalidate(final String redisKey) {
+        localCache.invalidate(redisKey);
+    }
+
+    /**
+     * Drops the local copies of every key starting with the given prefix.
+     *
+     * @param prefix the key prefix of a cache.
+     */
+    public void invalidatePrefix(final String prefix) {
+        localCache.asMap().keySet().removeIf(redisKey -> redisKey.startsWith(prefix));
+    }
+
+    /**
+     * @return a snapshot of the client-side cache state.
+     */
+    public ClientSideCacheStats getStats() {
+        final long hitCount = hits.sum();
+        final long missCount = misses.sum();
+        final long reads = hitCount + missCount;
+        return new ClientSideCacheStats(
+            tracking,
+            localCache.estimatedSize(),
+            hitCount,
+            missCount,
+            reads == 0 ? 0.0 : (double) hitCount / reads,
+            invalidations.sum(),
+            flushes.sum());
+    }
+
+    private void enableTracking() {
+        // Runs on the event loop when reconnecting, so it must not wait for the reply.
+        connection.async().clientTracking(TrackingArgs.Builder.enabled()).whenComplete((reply, e) -> {
+            if (e != null) {
+                LOGGER.warn("Could not turn client tracking on, the client-side cache stays unused", e);
+                return;
+            }
+            // Anything read before tracking was on may have changed unnoticed.
+            localCache.invalidateAll();
+            tracking = true;
+            LOGGER.info("Client tracking on, serving client-side cache entries");
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPushMessage(final PushMessage message) {
+        if (!INVALIDATE.equals(message.getType())) {
+            return;
+        }
+        final List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        if (content.size() < 2 || content.get(1) == null) {
+            // A null key list means the server was flushed.
+            invalidateAll();
+            return;
+        }
+        final List<String> keys = (List<String>) content.get(1);
+        keys.forEach(localCache::invalidate);
+        invalidations.add(keys.size());
+    }
+
+    private void invalidateAll() {
+        localCache.invalidateAll();
+        flushes.increment();
+    }
+
+    /**
+     * Parked under a key while its value is read, and replaced by the value unless an invalidation removed it.
+     */
+    private static final class LoadMarker {
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link CacheManager} handing out the caches of another manager wrapped by a decorator.
+ * <p>
+ * Every cache is decorated once and the decorated instance is reused, so stateful decorators keep their state
+ * across lookups. Unknown cache names stay unknown.
+ * </p>
+ */
+public class DecoratingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final UnaryOperator<Cache> decorator;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate  the manager providing the caches to decorate.
+     * @param decorator wraps a cache of the delegate.
+     */
+    public DecoratingCacheManager(final CacheManager delegate, final UnaryOperator<Cache> decorator) {
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        final Cache existing = caches.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        final Cache cache = delegate.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> decorator.apply(cache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * @return the manager whose caches are decorated.
+     */
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A {@link Cache} decorator implementing probabilistic early expiration ("XFetch", Vattani et al., "Optimal
+ * Probabilistic Cache Stampede Prevention").
+ * <p>
+ * Values are stored as {@link CacheEntry} envelopes recording how long they took to compute and when they expire.
+ * A reader holding an entry recomputes it ahead of time when
+ * {@code now - computeMillis * beta * ln(random) >= expiresAt}: the probability is negligible while the expiry is
+ * far away and rises as it approaches, faster for entries that are slow to compute. Reloads of a hot key are
+ * therefore done by one early reader on one instance, instead of by every instance at the moment it expires.
+ * </p>
+ * <p>
+ * Values put without a known compute time (e.g. by {@code @CachePut}) are stamped with the running average of the
+ * measured loads. Values written by other means without an envelope are plain hits that only expire through Redis.
+ * </p>
+ */
+public class EarlyExpirationCache implements Cache {
+
+    private final Cache delegate;
+    private final Duration ttl;
+    private final TtlJitter jitter;
+    private final double beta;
+    private final Clock clock;
+    private final DoubleSupplier random;
+    private volatile long averageComputeMillis;
+
+    /**
+     * @param delegate the cache holding the envelopes.
+     * @param ttl      the time-to-live of the entries.
+     * @param jitter   the jitter applied to the time-to-live of each entry.
+     * @param beta     the eagerness of early recomputation, 1 being the usual choice.
+     */
+    public EarlyExpirationCache(final Cache delegate, final Duration ttl, final TtlJitter jitter, final double beta) {
+        this(delegate, ttl, jitter, beta, Clock.systemUTC(), () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    EarlyExpirationCache(final Cache delegate, final Duration ttl, final TtlJitter jitter, final double beta,
+                         final Clock clock, final DoubleSupplier random) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.jitter = jitter;
+        this.beta = beta;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    /**
+     * Returns a miss for entries due for early recomputation, so that the caller recomputes and puts the value.
+     */
+    @Override
+    public ValueWrapper get(final Object key) {
+        final ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        final Object cached = wrapper.get();
+        if (cached instanceof CacheEntry entry) {
+            return shouldRecomputeEarly(entry) ? null : new SimpleValueWrapper(entry.value());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Class<T> type) {
+        final ValueWrapper wrapper = get(key);
+        final Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            final Object cached = wrapper.get();
+            if (!(cached instanceof CacheEntry entry)) {
+                return (T) cached;
+            }
+            if (!shouldRecomputeEarly(entry)) {
+                return (T) entry.value();
+            }
+            // Early recomputation by this reader only; everyone else keeps getting the current entry.
+            final CacheEntry recomputed;
+            try {
+                recomputed = compute(valueLoader);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            // A value gone from the store replaces the entry with a negative one, as a miss loading nothing would.
+            delegate.put(key, recomputed);
+            return recomputed != null ? (T) recomputed.value() : null;
+        }
+        // A real miss goes through the delegate so that concurrent loads in this JVM are still serialized.
+        return (T) CacheEntry.unwrap(delegate.get(key, () -> compute(valueLoader)));
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, wrap(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final ValueWrapper existing = delegate.putIfAbsent(key, wrap(value));
+        return existing != null ? new SimpleValueWrapper(CacheEntry.unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    boolean shouldRecomputeEarly(final CacheEntry entry) {
+        if (entry.expiresAt() <= 0) {
+            return false;
+        }
+        // 1 - nextDouble() is in (0, 1], keeping the logarithm finite.
+        final double gap = -entry.computeMillis() * beta * Math.log(1.0 - random.getAsDouble());
+        return clock.millis() + gap >= entry.expiresAt();
+    }
+
+    private <T> CacheEntry compute(final Callable<T> valueLoader) throws Exception {
+        final long start = System.nanoTime();
+        final T value = valueLoader.call();
+        final long computeMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        // A racy running average is good enough to stamp values put without a measured compute time.
+        averageComputeMillis = (averageComputeMillis * 7 + computeMillis) / 8;
+        return value != null ? newEntry(value, computeMillis) : null;
+    }
+
+    private Object wrap(final Object value) {
+        if (value == null || value instanceof CacheEntry) {
+            return value;
+        }
+        return newEntry(value, averageComputeMillis);
+    }
+
+    private CacheEntry newEntry(final Object value, final long computeMillis) {
+        return new CacheEntry(value, computeMillis, clock.millis() + jitter.apply(ttl).toMillis());
+    }
+}
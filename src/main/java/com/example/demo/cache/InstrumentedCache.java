@@ -0,0 +1,150 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.CacheOperation;
+import com.example.demo.service.CacheMetricsService;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Cache} decorator recording what really happens in the cache it wraps.
+ * <p>
+ * A lookup counts as a hit only when the cache returned an entry, and as a miss otherwise; when a value loader is
+ * invoked the miss is followed by a load whose duration is measured separately, so the {@code get} latency reflects
+ * the cache itself rather than the store behind it. A lookup or load that fails is recorded all the same, a failed
+ * lookup as a miss. Puts and single entry evictions are counted as well.
+ * </p>
+ */
+public class InstrumentedCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheMetricsService metricsService;
+
+    /**
+     * @param delegate       the cache to instrument.
+     * @param metricsService the service recording the counts and latencies.
+     */
+    public InstrumentedCache(final Cache delegate, final CacheMetricsService metricsService) {
+        this.delegate = delegate;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    /**
+     * @return the decorated cache.
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final long start = System.nanoTime();
+        final ValueWrapper wrapper = delegate.get(key);
+        recordLookup(wrapper != null, System.nanoTime() - start);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        final long start = System.nanoTime();
+        final T value = delegate.get(key, type);
+        recordLookup(value != null, System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final long[] loadNanos = {-1};
+        final Callable<T> timedLoader = () -> {
+            final long loadStart = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                loadNanos[0] = System.nanoTime() - loadStart;
+            }
+        };
+
+        final long start = System.nanoTime();
+        boolean returned = false;
+        try {
+            final T value = delegate.get(key, timedLoader);
+            returned = true;
+            return value;
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            final String name = getName();
+            if (loadNanos[0] < 0) {
+                recordLookup(returned, elapsed);
+            } else {
+                metricsService.incrementMissCount(name);
+                metricsService.incrementLoadCount(name);
+                metricsService.recordLatency(name, CacheOperation.LOAD, loadNanos[0]);
+                metricsService.recordLatency(name, CacheOperation.GET, Math.max(0, elapsed - loadNanos[0]));
+            }
+        }
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        final long start = System.nanoTime();
+        delegate.put(key, value);
+        recordPut(System.nanoTime() - start);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final long start = System.nanoTime();
+        final ValueWrapper existing = delegate.putIfAbsent(key, value);
+        recordPut(System.nanoTime() - start);
+        return existing;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+        metricsService.incrementEvictionCount(getName());
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        final boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            metricsService.incrementEvictionCount(getName());
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void recordLookup(final boolean hit, final long nanos) {
+        if (hit) {
+            metricsService.incrementHitCount(getName());
+        } else {
+            metricsService.incrementMissCount(getName());
+        }
+        metricsService.recordLatency(getName(), CacheOperation.GET, nanos);
+    }
+
+    private void recordPut(final long nanos) {
+        metricsService.incrementPutCount(getName());
+        metricsService.recordLatency(getName(), CacheOperation.PUT, nanos);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Cache} decorator serializing the loads of a missing key per key rather than per cache.
+ * <p>
+ * {@code RedisCache} loads every miss of {@link #get(Object, Callable)} under one lock shared by all the keys of the
+ * cache, so concurrent misses of different users wait for each other's store load, whatever threads serve them.
+ * This decorator never calls the loading variant of its delegate: it re-checks the key under a lock taken from a
+ * fixed set of {@link ReentrantLock}s picked by key hash, loads the value and puts it, {@code null} included, like
+ * {@code RedisCache} does. Only keys sharing a lock wait for each other. The locks park waiting virtual threads
+ * instead of pinning their carrier, unlike {@code synchronized}.
+ * </p>
+ */
+public class KeyLockingCache implements Cache {
+
+    private final Cache delegate;
+    private final ReentrantLock[] locks;
+
+    /**
+     * @param delegate the cache holding the values.
+     * @param stripes  the number of locks the keys are spread over.
+     */
+    public KeyLockingCache(final Cache delegate, final int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("The number of lock stripes must be positive: " + stripes);
+        }
+        this.delegate = delegate;
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        final ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            final ValueWrapper loadedMeanwhile = delegate.get(key);
+            if (loadedMeanwhile != null) {
+                return (T) loadedMeanwhile.get();
+            }
+            final T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            delegate.put(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private ReentrantLock lockFor(final Object key) {
+        // Spread the hash bits, as HashMap does, before picking a stripe.
+        final int hash = key.hashCode();
+        return locks[Math.floorMod(hash ^ (hash >>> 16), locks.length)];
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking reads and writes of single entries of the Redis caches, for the reactive read path.
+ * <p>
+ * Keys, values and TTLs are produced from the {@link RedisCacheConfiguration} of the target cache, exactly like
+ * {@link RedisCache} does, so both paths share the same entries, negative entries included. Like
+ * {@link RedisCacheBatchOperations}, values are written without a {@link CacheEntry} envelope and read values are
+ * unwrapped. When the near cache is enabled the L1 copies of written keys are invalidated on every instance
+ * afterwards, off the event loop.
+ * </p>
+ */
+@Component
+public class ReactiveRedisCacheOperations {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheManager cacheManager;
+    private final ReactiveRedisTemplate<byte[], byte[]> reactiveRedisTemplate;
+
+    /**
+     * @param redisCacheManager     the manager owning the Redis caches and their configuration.
+     * @param cacheManager          the (possibly two-tier) cache manager used by the application.
+     * @param reactiveRedisTemplate the template sending the raw keys and values.
+     */
+    public ReactiveRedisCacheOperations(final RedisCacheManager redisCacheManager, final CacheManager cacheManager,
+                                        final ReactiveRedisTemplate<byte[], byte[]> reactiveRedisTemplate) {
+        this.redisCacheManager = redisCacheManager;
+        this.cacheManager = cacheManager;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+    }
+
+    /**
+     * Reads one key of the cache.
+     *
+     * @param cacheName the cache name.
+     * @param key       the cache key.
+     * @return the cached value, holding {@code null} for a negative entry, or an empty {@link Mono} on a miss.
+     */
+    public Mono<Cache.ValueWrapper> get(final String cacheName, final Object key) {
+        return Mono.defer(() -> {
+            final RedisCacheConfiguration config =
+                RedisCacheBatchOperations.getCacheConfiguration(redisCacheManager, cacheName);
+            return reactiveRedisTemplate.opsForValue()
+                .get(RedisCacheBatchOperations.serializeKey(config, cacheName, key))
+                .map(value -> new SimpleValueWrapper(RedisCacheBatchOperations.deserializeValue(config, value)));
+        });
+    }
+
+    /**
+     * Writes one key of the cache with the TTL the cache would give it.
+     *
+     * @param cacheName the cache name.
+     * @param key       the cache key.
+     * @param value     the value, {@code null} for a negative entry.
+     * @return a {@link Mono} completing once Redis acknowledged the write.
+     */
+    public Mono<Void> put(final String cacheName, final Object key, final Object value) {
+        return Mono.defer(() -> {
+            final RedisCacheConfiguration config =
+                RedisCacheBatchOperations.getCacheConfiguration(redisCacheManager, cacheName);
+            final byte[] redisKey = RedisCacheBatchOperations.serializeKey(config, cacheName, key);
+            final byte[] redisValue = RedisCacheBatchOperations.serializeValue(config, value);
+            final Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+            final Mono<Boolean> write = ttl.isZero() || ttl.isNegative()
+                ? reactiveRedisTemplate.opsForValue().set(redisKey, redisValue)
+                : reactiveRedisTemplate.opsForValue().set(redisKey, redisValue, ttl);
+            return write.doOnSuccess(written -> invalidateNearCaches(cacheName, key)).then();
+        });
+    }
+
+    private void invalidateNearCaches(final String cacheName, final Object key) {
+        if (RedisCacheBatchOperations.unwrap(cacheManager) instanceof TwoTierCacheManager twoTierCacheManager) {
+            // Publishing blocks, so it must not run on the event loop; nobody waits for it.
+            Schedulers.boundedElastic().schedule(() -> twoTierCacheManager.invalidate(cacheName, List.of(key)));
+        }
+    }
+}
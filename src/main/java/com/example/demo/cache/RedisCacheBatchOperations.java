@@ -0,0 +1,159 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key operations on the Redis caches that bypass the one-round-trip-per-key {@link Cache} API.
+ * <p>
+ * Keys, values and TTLs are produced from the {@link RedisCacheConfiguration} of the target cache, exactly like
+ * {@link RedisCache} does. Values are written without a {@link CacheEntry} envelope, so they expire after the
+ * configured TTL and are never recomputed early; values read here are unwrapped from their envelope. {@code null}
+ * values are negative entries, stored in the same encoding as {@link RedisCache} uses. When the near cache is enabled
+ * the L1 copies of the written keys are invalidated on every instance afterwards.
+ * </p>
+ */
+@Component
+public class RedisCacheBatchOperations {
+
+    // What RedisCache writes for a null value when caching null values is allowed.
+    static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @param redisCacheManager the manager owning the Redis caches and their configuration.
+     * @param cacheManager      the (possibly two-tier) cache manager used by the application.
+     * @param redisTemplate     the template used to run pipelines.
+     */
+    public RedisCacheBatchOperations(final RedisCacheManager redisCacheManager, final CacheManager cacheManager,
+                                     final StringRedisTemplate redisTemplate) {
+        this.redisCacheManager = redisCacheManager;
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Writes all entries into the given cache with one pipelined round trip of {@code SET key value PX ttl}.
+     *
+     * @param cacheName the cache name.
+     * @param entries   the cache keys and their values, {@code null} for a negative entry.
+     */
+    public void putAll(final String cacheName, final Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final RedisCacheConfiguration config = getCacheConfiguration(cacheName);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, value) -> {
+                final Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                final Expiration expiration = ttl.isZero() || ttl.isNegative()
+                    ? Expiration.persistent()
+                    : Expiration.milliseconds(ttl.toMillis());
+                connection.stringCommands().set(serializeKey(config, cacheName, key), serializeValue(config, value),
+                    expiration, RedisStringCommands.SetOption.upsert());
+            });
+            return null;
+        });
+        if (unwrap(cacheManager) instanceof TwoTierCacheManager twoTierCacheManager) {
+            twoTierCacheManager.invalidate(cacheName, entries.keySet());
+        }
+    }
+
+    /**
+     * Reads the given keys from the cache with a single {@code MGET}.
+     *
+     * @param cacheName the cache name.
+     * @param keys      the cache keys to read.
+     * @return the keys that were found, mapped to their deserialized values or to {@code null} for a negative entry;
+     * misses are absent.
+     */
+    public Map<Object, Object> getAll(final String cacheName, final Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        final RedisCacheConfiguration config = getCacheConfiguration(cacheName);
+        final List<?> orderedKeys = List.copyOf(keys);
+        final byte[][] redisKeys = orderedKeys.stream()
+            .map(key -> serializeKey(config, cacheName, key))
+            .toArray(byte[][]::new);
+
+        final List<byte[]> values = redisTemplate.execute(
+            (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(redisKeys));
+        final Map<Object, Object> hits = new HashMap<>();
+        if (values == null) {
+            return hits;
+        }
+        for (int i = 0; i < orderedKeys.size() && i < values.size(); i++) {
+            final byte[] value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            hits.put(orderedKeys.get(i), deserializeValue(config, value));
+        }
+        return hits;
+    }
+
+    private RedisCacheConfiguration getCacheConfiguration(final String cacheName) {
+        return getCacheConfiguration(redisCacheManager, cacheName);
+    }
+
+    static RedisCacheConfiguration getCacheConfiguration(final RedisCacheManager redisCacheManager,
+                                                         final String cacheName) {
+        if (redisCacheManager.getCache(cacheName) instanceof RedisCache redisCache) {
+            return redisCache.getCacheConfiguration();
+        }
+        throw new IllegalArgumentException("No Redis cache named '" + cacheName + "'");
+    }
+
+    static CacheManager unwrap(final CacheManager cacheManager) {
+        CacheManager current = cacheManager;
+        while (current instanceof DecoratingCacheManager decoratingCacheManager) {
+            current = decoratingCacheManager.getDelegate();
+        }
+        return current;
+    }
+
+    static byte[] serializeKey(final RedisCacheConfiguration config, final String cacheName, final Object key) {
+        final String convertedKey = config.getConversionService().convert(key, String.class);
+        final String cacheKey = config.usePrefix() ? config.getKeyPrefixFor(cacheName) + convertedKey : convertedKey;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+
+    /**
+     * @return the value unwrapped from its envelope, or {@code null} for a negative entry.
+     */
+    static Object deserializeValue(final RedisCacheConfiguration config, final byte[] value) {
+        return Arrays.equals(value, BINARY_NULL_VALUE)
+            ? null
+            : CacheEntry.unwrap(config.getValueSerializationPair().read(ByteBuffer.wrap(value)));
+    }
+
+    static byte[] serializeValue(final RedisCacheConfiguration config, final Object value) {
+        if (value == null) {
+            return BINARY_NULL_VALUE;
+        }
+        return ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+    }
+}
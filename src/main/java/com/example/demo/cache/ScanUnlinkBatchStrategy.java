@@ -0,0 +1,173 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.CacheClearStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.BatchStrategy;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link BatchStrategy} clearing a Redis cache without blocking Redis.
+ * <p>
+ * The default strategy of {@code RedisCacheWriter} finds the keys of the cache with one {@code KEYS}, which walks the
+ * whole keyspace while every other client waits, and frees them with one {@code DEL}. This strategy walks the
+ * keyspace with incremental {@code SCAN}s of {@code batchSize} keys instead, and deletes each batch with
+ * {@code UNLINK}, which frees the values on a Redis background thread. Other commands run between two batches. A
+ * key present for the whole clear is always deleted; a key written meanwhile may be deleted too, which only costs a
+ * miss.
+ * </p>
+ * <p>
+ * The progress of the latest clear of each cache is kept for {@link #getStatus(String)}. In asynchronous mode
+ * {@link #cleanCache(RedisConnection, String, byte[])} only starts the clear on a background thread with a connection
+ * of its own and returns at once; until it completes, entries written before it may still be read. Clears run one at
+ * a time in that mode.
+ * </p>
+ */
+public class ScanUnlinkBatchStrategy implements BatchStrategy, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScanUnlinkBatchStrategy.class);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final int batchSize;
+    private final boolean async;
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, Progress> latestClears = new ConcurrentHashMap<>();
+
+    /**
+     * @param connectionFactory the factory of the connections used by asynchronous clears.
+     * @param batchSize         the number of keys asked for by each {@code SCAN} and deleted by each {@code UNLINK}.
+     * @param async             whether clears run in the background.
+     */
+    public ScanUnlinkBatchStrategy(final RedisConnectionFactory connectionFactory, final int batchSize,
+                                   final boolean async) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The clear batch size must be positive: " + batchSize);
+        }
+        this.connectionFactory = connectionFactory;
+        this.batchSize = batchSize;
+        this.async = async;
+        this.executor = async
+            ? Executors.newSingleThreadExecutor(Thread.ofPlatform().name("cache-clear").daemon().factory())
+            : null;
+    }
+
+    /**
+     * @return the number of keys deleted, or {@code 0} in asynchronous mode, where the clear has only started.
+     */
+    @Override
+    public long cleanCache(final RedisConnection connection, final String name, final byte[] pattern) {
+        final Progress progress = new Progress(name);
+        latestClears.put(name, progress);
+        if (!async) {
+            return unlinkMatching(connection, pattern, progress);
+        }
+        executor.execute(() -> {
+            try (RedisConnection ownConnection = connectionFactory.getConnection()) {
+                unlinkMatching(ownConnection, pattern, progress);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to clear cache {} after deleting {} keys", name, progress.keysUnlinked, e);
+            }
+        });
+        return 0;
+    }
+
+    /**
+     * @param cacheName the cache name.
+     * @return the progress of the latest clear of the cache, if it was cleared since startup.
+     */
+    public Optional<CacheClearStatus> getStatus(final String cacheName) {
+        return Optional.ofNullable(latestClears.get(cacheName)).map(Progress::toStatus);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private long unlinkMatching(final RedisConnection connection, final byte[] pattern, final Progress progress) {
+        final ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        try (Cursor<byte[]> keys = connection.keyCommands().scan(options)) {
+            final List<byte[]> batch = new ArrayList<>(batchSize);
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == batchSize) {
+                    unlink(connection, batch, progress);
+                }
+            }
+            if (!batch.isEmpty()) {
+                unlink(connection, batch, progress);
+            }
+        } catch (RuntimeException e) {
+            progress.fail(e);
+            throw e;
+        }
+        progress.complete();
+        LOGGER.info("Cleared cache {}: {} keys deleted in {} batches", progress.cacheName, progress.keysUnlinked,
+            progress.batches);
+        return progress.keysUnlinked;
+    }
+
+    private static void unlink(final RedisConnection connection, final List<byte[]> batch, final Progress progress) {
+        final Long unlinked = connection.keyCommands().unlink(batch.toArray(byte[][]::new));
+        progress.add(unlinked != null ? unlinked : 0);
+        batch.clear();
+    }
+
+    /**
+     * Progress of one clear, written by the thread running it only.
+     */
+    private static final class Progress {
+
+        private final String cacheName;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private volatile CacheClearStatus.State state = CacheClearStatus.State.RUNNING;
+        private volatile long keysUnlinked;
+        private volatile long batches;
+        private volatile long elapsedNanos;
+        private volatile String error;
+
+        private Progress(final String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        private void add(final long unlinked) {
+            keysUnlinked += unlinked;
+            batches++;
+        }
+
+        private void complete() {
+            elapsedNanos = System.nanoTime() - startNanos;
+            state = CacheClearStatus.State.COMPLETED;
+        }
+
+        private void fail(final RuntimeException e) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            error = e.getMessage();
+            state = CacheClearStatus.State.FAILED;
+        }
+
+        private CacheClearStatus toStatus() {
+            final CacheClearStatus.State current = state;
+            final long elapsed =
+                current == CacheClearStatus.State.RUNNING ? System.nanoTime() - startNanos : elapsedNanos;
+            return new CacheClearStatus(cacheName, current, keysUnlinked, batches, startedAt,
+                Duration.ofNanos(elapsed).toMillis(), error);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.cache;
+
+import com.example.demo.properties.SingleFlightProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Cache} decorator loading a missing value on one instance of the cluster at a time.
+ * <p>
+ * On a miss the reader tries to take the Redis lease of the key through the {@link SingleFlightCoordinator}. The
+ * lease holder loads the value through the delegate (which also serializes the loads of this JVM), then releases
+ * the lease and announces the value. The other readers wait for that announcement, re-checking the cache at every
+ * poll interval and retrying the lease, and load the value themselves once the wait timeout has passed or Redis
+ * cannot be reached. Only loads through {@link #get(Object, Callable)} take part; every other call is delegated.
+ * </p>
+ */
+public class SingleFlightCache implements Cache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlightCache.class);
+
+    private final Cache delegate;
+    private final SingleFlightCoordinator coordinator;
+    private final SingleFlightProperties singleFlightProperties;
+
+    /**
+     * @param delegate               the cache holding the values.
+     * @param coordinator            the lease and notification handler.
+     * @param singleFlightProperties the single-flight settings.
+     */
+    public SingleFlightCache(final Cache delegate, final SingleFlightCoordinator coordinator,
+                             final SingleFlightProperties singleFlightProperties) {
+        this.delegate = delegate;
+        this.coordinator = coordinator;
+        this.singleFlightProperties = singleFlightProperties;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final String name = getName();
+        final String localKey = String.valueOf(key);
+        final long deadline = System.nanoTime() + singleFlightProperties.getWaitTimeout().toNanos();
+        while (true) {
+            final ValueWrapper cached = delegate.get(key);
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            final String token;
+            try {
+                token = coordinator.tryAcquire(name, localKey);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not take the load lease of key '{}' in cache '{}', loading locally", localKey, name, e);
+                break;
+            }
+            if (token != null) {
+                try {
+                    return delegate.get(key, valueLoader);
+                } finally {
+                    coordinator.releaseAndNotify(name, localKey, token);
+                }
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                LOGGER.debug("Gave up waiting for key '{}' of cache '{}' to be loaded elsewhere", localKey, name);
+                break;
+            }
+            final Duration pollInterval = singleFlightProperties.getPollInterval();
+            coordinator.awaitLoaded(name, localKey,
+                pollInterval.toNanos() < remaining ? pollInterval : Duration.ofNanos(remaining));
+        }
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.cache;
+
+import com.example.demo.properties.SingleFlightProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Redis side of the single-flight loading: load leases and "loaded" notifications.
+ * <p>
+ * A lease is a {@code SET lease:<cacheName>::<key> <token> NX PX <leaseTtl>}, released with a compare-and-delete so
+ * that a load outliving its lease never releases someone else's. Once a value is loaded the leader publishes
+ * {@code <cacheName>|<key>}; the coordinator is the {@link MessageListener} of that channel and wakes up the local
+ * threads waiting for the key. The last local waiter of a key that gives up on the timeout stops waiting for it, so
+ * a notification that never comes, e.g. from a crashed leader, leaves nothing behind.
+ * </p>
+ */
+public class SingleFlightCoordinator implements MessageListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlightCoordinator.class);
+    private static final String LEASE_KEY_PREFIX = "lease:";
+    private static final String SEPARATOR = "|";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SingleFlightProperties singleFlightProperties;
+    private final ConcurrentMap<String, Waiters> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * @param redisTemplate          the template used for leases and notifications.
+     * @param singleFlightProperties the single-flight settings.
+     */
+    public SingleFlightCoordinator(final StringRedisTemplate redisTemplate,
+                                   final SingleFlightProperties singleFlightProperties) {
+        this.redisTemplate = redisTemplate;
+        this.singleFlightProperties = singleFlightProperties;
+    }
+
+    /**
+     * Tries to become the instance loading the given key.
+     *
+     * @param cacheName the cache name.
+     * @param key       the string form of the cache key.
+     * @return the lease token, or {@code null} when another instance holds the lease.
+     */
+    public String tryAcquire(final String cacheName, final String key) {
+        final String token = UUID.randomUUID().toString();
+        final Boolean acquired = redisTemplate.opsForValue()
+            .setIfAbsent(leaseKey(cacheName, key), token, singleFlightProperties.getLeaseTtl());
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /**
+     * Releases a lease if it is still held with the given token, then wakes up the waiters of every instance.
+     *
+     * @param cacheName the cache name.
+     * @param key       the string form of the cache key.
+     * @param token     the token returned by {@link #tryAcquire(String, String)}.
+     */
+    public void releaseAndNotify(final String cacheName, final String key, final String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(cacheName, key)), token);
+            redisTemplate.convertAndSend(singleFlightProperties.getChannel(), cacheName + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            // The lease expires on its own and the waiters fall back to polling.
+            LOGGER.warn("Failed to release single-flight lease of key '{}' in cache '{}'", key, cacheName, e);
+        }
+        wake(cacheName + SEPARATOR + key);
+    }
+
+    /**
+     * Waits until another instance announces that it has loaded the given key, or until the timeout.
+     *
+     * @param cacheName the cache name.
+     * @param key       the string form of the cache key.
+     * @param timeout   the maximum time to wait.
+     */
+    public void awaitLoaded(final String cacheName, final String key, final Duration timeout) {
+        final String waiterKey = cacheName + SEPARATOR + key;
+        final Waiters joined = waiters.compute(waiterKey, (k, current) -> {
+            final Waiters waiting = current != null ? current : new Waiters();
+            waiting.count++;
+            return waiting;
+        });
+        try {
+            joined.loaded.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // The caller checks the cache again either way.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Woken waiters were already removed; otherwise the last one to give up removes them.
+            waiters.computeIfPresent(waiterKey,
+                (k, current) -> current == joined && --current.count == 0 ? null : current);
+        }
+    }
+
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        wake(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void wake(final String waiterKey) {
+        final Waiters waiting = waiters.remove(waiterKey);
+        if (waiting != null) {
+            waiting.loaded.complete(null);
+        }
+    }
+
+    /**
+     * @return the number of keys local threads are waiting for.
+     */
+    int waitingKeys() {
+        return waiters.size();
+    }
+
+    static String leaseKey(final String cacheName, final String key) {
+        return LEASE_KEY_PREFIX + cacheName + "::" + key;
+    }
+
+    /**
+     * The local threads waiting for one key. The count is only changed inside the map's compute functions.
+     */
+    private static final class Waiters {
+
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private int count;
+    }
+}
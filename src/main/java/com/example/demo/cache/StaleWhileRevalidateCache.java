@@ -0,0 +1,162 @@
+package com.example.demo.cache;
+
+import com.example.demo.executor.RefreshExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Cache} decorator serving entries stale while they are refreshed in the background.
+ * <p>
+ * Values are stored as {@link CacheEntry} envelopes going stale after the soft TTL and expiring from Redis after the
+ * hard TTL. A reader loading through {@link #get(Object, Callable)} gets a stale value straight away and hands its
+ * loader to the {@link RefreshExecutor}, which runs at most one refresh per key at a time. Only once the hard TTL
+ * has passed does a reader wait for the load. Plain lookups without a loader return stale values as they are.
+ * </p>
+ */
+public class StaleWhileRevalidateCache implements Cache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    private final Cache delegate;
+    private final RefreshExecutor refreshExecutor;
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final TtlJitter jitter;
+    private final Clock clock;
+
+    /**
+     * @param delegate        the cache holding the envelopes.
+     * @param refreshExecutor the executor running the background refreshes.
+     * @param softTtl         the age after which an entry is served stale.
+     * @param hardTtl         the age after which an entry expires, longer than the soft TTL.
+     * @param jitter          the jitter applied to both TTLs of each entry.
+     */
+    public StaleWhileRevalidateCache(final Cache delegate, final RefreshExecutor refreshExecutor,
+                                     final Duration softTtl, final Duration hardTtl, final TtlJitter jitter) {
+        this(delegate, refreshExecutor, softTtl, hardTtl, jitter, Clock.systemUTC());
+    }
+
+    StaleWhileRevalidateCache(final Cache delegate, final RefreshExecutor refreshExecutor, final Duration softTtl,
+                              final Duration hardTtl, final TtlJitter jitter, final Clock clock) {
+        if (softTtl.compareTo(hardTtl) >= 0) {
+            throw new IllegalArgumentException("The soft TTL " + softTtl + " of cache '" + delegate.getName()
+                + "' must be shorter than its hard TTL " + hardTtl);
+        }
+        this.delegate = delegate;
+        this.refreshExecutor = refreshExecutor;
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+        this.jitter = jitter;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null ? new SimpleValueWrapper(CacheEntry.unwrap(wrapper.get())) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Class<T> type) {
+        final ValueWrapper wrapper = get(key);
+        final Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            final Object cached = wrapper.get();
+            if (cached instanceof CacheEntry entry && entry.isStale(clock.millis())) {
+                refreshInBackground(key, valueLoader);
+            }
+            return (T) CacheEntry.unwrap(cached);
+        }
+        return (T) CacheEntry.unwrap(delegate.get(key, () -> {
+            final T value = valueLoader.call();
+            return value != null ? newEntry(value) : null;
+        }));
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, wrap(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final ValueWrapper existing = delegate.putIfAbsent(key, wrap(value));
+        return existing != null ? new SimpleValueWrapper(CacheEntry.unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private <T> void refreshInBackground(final Object key, final Callable<T> valueLoader) {
+        final boolean submitted = refreshExecutor.submit(RefreshExecutor.entryKey(getName(), key), () -> {
+            final T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value != null) {
+                delegate.put(key, newEntry(value));
+            }
+        });
+        if (submitted) {
+            LOGGER.debug("Serving stale entry '{}' of cache '{}' while it is refreshed", key, getName());
+        }
+    }
+
+    private Object wrap(final Object value) {
+        return value == null || value instanceof CacheEntry ? value : newEntry(value);
+    }
+
+    private CacheEntry newEntry(final Object value) {
+        final long now = clock.millis();
+        // One factor for both TTLs keeps the entry stale for the same share of its life.
+        final double factor = jitter.nextFactor();
+        return new CacheEntry(value, 0, now + TtlJitter.scale(hardTtl, factor).toMillis(),
+            now + TtlJitter.scale(softTtl, factor).toMillis());
+    }
+}
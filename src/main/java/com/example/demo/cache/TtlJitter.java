@@ -0,0 +1,61 @@
+package com.example.demo.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Shortens time-to-lives by a random share of up to {@code percent} percent.
+ * <p>
+ * Entries written in the same instant (e.g. by a warm-up or refresh cycle) thereby expire spread over a window of
+ * {@code percent} percent of their TTL instead of all at once. TTLs are only ever shortened, so an entry never
+ * lives longer than configured.
+ * </p>
+ */
+public class TtlJitter {
+
+    /** No jitter at all. */
+    public static final TtlJitter NONE = new TtlJitter(0);
+
+    private final int percent;
+    private final DoubleSupplier random;
+
+    /**
+     * @param percent the maximum share of the TTL, in percent, that is cut off.
+     */
+    public TtlJitter(final int percent) {
+        this(percent, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    TtlJitter(final int percent, final DoubleSupplier random) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("TTL jitter must be between 0 and 100 percent, got " + percent);
+        }
+        this.percent = percent;
+        this.random = random;
+    }
+
+    /**
+     * @return a random factor between {@code 1 - percent / 100} and {@code 1}.
+     */
+    public double nextFactor() {
+        return percent == 0 ? 1.0 : 1.0 - percent / 100.0 * random.getAsDouble();
+    }
+
+    /**
+     * @param ttl the configured time-to-live.
+     * @return the time-to-live shortened by a random share.
+     */
+    public Duration apply(final Duration ttl) {
+        return scale(ttl, nextFactor());
+    }
+
+    /**
+     * @param ttl    a time-to-live.
+     * @param factor the factor returned by {@link #nextFactor()}.
+     * @return the scaled time-to-live, at least one millisecond.
+     */
+    public static Duration scale(final Duration ttl, final double factor) {
+        return factor == 1.0 ? ttl : Duration.ofMillis(Math.max(1, Math.round(ttl.toMillis() * factor)));
+    }
+}
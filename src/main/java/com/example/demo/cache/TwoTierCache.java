@@ -0,0 +1,210 @@
+package com.example.demo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link Cache} that keeps a bounded in-process (L1) copy of the entries of a Redis backed (L2) cache.
+ * <p>
+ * Reads are served from L1 when possible and fall through to L2 otherwise, populating L1 on the way back.
+ * Every write or eviction goes to L2 first, drops the local L1 entry and is then broadcast through the owning
+ * {@link TwoTierCacheManager} so that the other instances drop their L1 copy as well.
+ * </p>
+ * <p>
+ * L1 keys are the string form of the cache key, which is also what {@code RedisCache} uses to build its Redis keys,
+ * so the keys carried by invalidation messages match the local entries exactly.
+ * </p>
+ * <p>
+ * An invalidation may arrive while a read is between its L2 lookup and its L1 fill. Each invalidation therefore
+ * bumps a version, one per stripe of keys and one for clears, before dropping the L1 copy; a read takes the version
+ * of its key before the L2 lookup and drops its own fill if the version moved meanwhile, so a stale value is never
+ * kept in L1.
+ * </p>
+ */
+public class TwoTierCache implements Cache {
+
+    private static final int VERSION_STRIPES = 256;
+
+    private final String name;
+    private final Cache redisCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final TwoTierCacheManager cacheManager;
+    private final AtomicLongArray keyVersions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong clearVersion = new AtomicLong();
+
+    /**
+     * @param name         the cache name.
+     * @param redisCache   the L2 cache backed by Redis.
+     * @param localCache   the bounded L1 store.
+     * @param cacheManager the manager used to broadcast invalidations.
+     */
+    TwoTierCache(final String name, final Cache redisCache,
+                 final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                 final TwoTierCacheManager cacheManager) {
+        this.name = name;
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final String localKey = toLocalKey(key);
+        final Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            return new SimpleValueWrapper(local);
+        }
+        final long version = version(localKey);
+        final ValueWrapper wrapper = redisCache.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            fillLocal(localKey, wrapper.get(), version);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Class<T> type) {
+        final ValueWrapper wrapper = get(key);
+        final Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final String localKey = toLocalKey(key);
+        final Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            return (T) local;
+        }
+        final long version = version(localKey);
+        // The loader may block for a long time, so it must not run inside the L1 store's own compute lock.
+        final T value = redisCache.get(key, valueLoader);
+        if (value != null) {
+            fillLocal(localKey, value, version);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        redisCache.put(key, value);
+        invalidateLocally(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        invalidateLocally(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        redisCache.evict(key);
+        invalidateLocally(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        final boolean evicted = redisCache.evictIfPresent(key);
+        invalidateLocally(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        clearLocally();
+    }
+
+    @Override
+    public boolean invalidate() {
+        final boolean invalidated = redisCache.invalidate();
+        clearLocally();
+        return invalidated;
+    }
+
+    /**
+     * Drops the L1 copy of an entry without touching Redis or notifying other instances.
+     *
+     * @param localKey the string form of the cache key.
+     */
+    void evictLocal(final String localKey) {
+        keyVersions.incrementAndGet(stripe(localKey));
+        localCache.invalidate(localKey);
+    }
+
+    /**
+     * Drops every L1 entry without touching Redis or notifying other instances.
+     */
+    void clearLocal() {
+        clearVersion.incrementAndGet();
+        localCache.invalidateAll();
+    }
+
+    /**
+     * @return the approximate number of entries currently held in L1.
+     */
+    long localSize() {
+        return localCache.estimatedSize();
+    }
+
+    private void invalidateLocally(final Object key) {
+        final String localKey = toLocalKey(key);
+        evictLocal(localKey);
+        cacheManager.publishEviction(name, localKey);
+    }
+
+    private void clearLocally() {
+        clearLocal();
+        cacheManager.publishClear(name);
+    }
+
+    /**
+     * Puts a value read from L2 into L1, unless the key was invalidated since {@code version} was taken. The version
+     * is checked again after the put, as an invalidation bumps it before dropping the entry.
+     */
+    private void fillLocal(final String localKey, final Object value, final long version) {
+        if (version(localKey) != version) {
+            return;
+        }
+        localCache.put(localKey, value);
+        if (version(localKey) != version) {
+            localCache.invalidate(localKey);
+        }
+    }
+
+    /**
+     * Both counters only grow, so their sum changes whenever either of them does.
+     */
+    private long version(final String localKey) {
+        return keyVersions.get(stripe(localKey)) + clearVersion.get();
+    }
+
+    private static int stripe(final String localKey) {
+        return Math.floorMod(localKey.hashCode(), VERSION_STRIPES);
+    }
+
+    static String toLocalKey(final Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.cache;
+
+import com.example.demo.properties.NearCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link CacheManager} that wraps every cache of a Redis backed manager into a {@link TwoTierCache}.
+ * <p>
+ * The manager is also the {@link MessageListener} for the invalidation channel: writes and evictions done on one
+ * instance are published as {@code <instanceId>|<cacheName>|K|<key>} (single entry) or
+ * {@code <instanceId>|<cacheName>|C} (whole cache) and every other instance drops the matching L1 entries.
+ * Messages published by this instance are ignored since the local L1 tier has already been updated.
+ * </p>
+ */
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwoTierCacheManager.class);
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "K";
+    private static final String CLEAR = "C";
+
+    private final CacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final NearCacheProperties nearCacheProperties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param redisCacheManager   the manager providing the L2 caches.
+     * @param redisTemplate       the template used to publish invalidations.
+     * @param nearCacheProperties the L1 settings.
+     */
+    public TwoTierCacheManager(final CacheManager redisCacheManager, final StringRedisTemplate redisTemplate,
+                               final NearCacheProperties nearCacheProperties) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.nearCacheProperties = nearCacheProperties;
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        final TwoTierCache existing = caches.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        final Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> new TwoTierCache(cacheName, redisCache, newLocalCache(), this));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Drops the L1 copies of the given keys on this instance and on every other instance, without touching Redis.
+     * Used by code paths that write to Redis directly rather than through {@link Cache#put(Object, Object)}.
+     *
+     * @param cacheName the cache name.
+     * @param keys      the cache keys whose L1 copies should be dropped.
+     */
+    public void invalidate(final String cacheName, final Collection<?> keys) {
+        final TwoTierCache cache = caches.get(cacheName);
+        keys.stream()
+            .map(TwoTierCache::toLocalKey)
+            .forEach(localKey -> {
+                if (cache != null) {
+                    cache.evictLocal(localKey);
+                }
+                publishEviction(cacheName, localKey);
+            });
+    }
+
+    /**
+     * @return the identifier this instance stamps on the invalidations it publishes.
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        final String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        final TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[2])) {
+            LOGGER.debug("Clearing near cache '{}' on request of instance {}", parts[1], parts[0]);
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[2]) && parts.length == 4) {
+            LOGGER.debug("Evicting key '{}' from near cache '{}' on request of instance {}", parts[3], parts[1], parts[0]);
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    void publishEviction(final String cacheName, final String localKey) {
+        publish(String.join(SEPARATOR, instanceId, cacheName, EVICT, localKey));
+    }
+
+    void publishClear(final String cacheName) {
+        publish(String.join(SEPARATOR, instanceId, cacheName, CLEAR));
+    }
+
+    private void publish(final String payload) {
+        try {
+            redisTemplate.convertAndSend(nearCacheProperties.getInvalidationChannel(), payload);
+        } catch (RuntimeException e) {
+            // Redis has already been updated; the other instances will catch up once their L1 entries expire.
+            LOGGER.warn("Failed to publish near cache invalidation '{}'", payload, e);
+        }
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> newLocalCache() {
+        return Caffeine.newBuilder()
+            .maximumSize(nearCacheProperties.getMaximumSize())
+            .expireAfterWrite(nearCacheProperties.getTtl())
+            .build();
+    }
+}
@@ -1,51 +1,258 @@
 package com.example.demo.configuration;
 
+import com.example.demo.cache.CacheEntryTtlFunction;
+import com.example.demo.cache.ClientSideCache;
+import com.example.demo.cache.ClientTrackingConnection;
+import com.example.demo.cache.DecoratingCacheManager;
+import com.example.demo.cache.EarlyExpirationCache;
+import com.example.demo.cache.InstrumentedCache;
+import com.example.demo.cache.KeyLockingCache;
+import com.example.demo.cache.ScanUnlinkBatchStrategy;
+import com.example.demo.cache.SingleFlightCache;
+import com.example.demo.cache.SingleFlightCoordinator;
+import com.example.demo.cache.StaleWhileRevalidateCache;
+import com.example.demo.cache.TtlJitter;
+import com.example.demo.executor.RefreshExecutor;
+import com.example.demo.cache.TwoTierCacheManager;
 import com.example.demo.model.User;
+import com.example.demo.properties.CacheMetricsProperties;
+import com.example.demo.properties.ClientSideCachingProperties;
+import com.example.demo.properties.EarlyExpirationProperties;
+import com.example.demo.properties.NearCacheProperties;
 import com.example.demo.properties.RedisExtraProperties;
+import com.example.demo.properties.SingleFlightProperties;
+import com.example.demo.properties.StaleWhileRevalidateProperties;
+import com.example.demo.serializer.CacheEntryRedisSerializer;
+import com.example.demo.serializer.UserBinaryRedisSerializer;
+import com.example.demo.service.CacheMetricsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.BatchStrategy;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
 /**
  * A simple configuration for Redis.
  */
 @Configuration
 public class RedisConfig {
+    /**
+     * Builds the connection factory. Client-side caching needs RESP3, over which Redis pushes the invalidations of
+     * the tracked keys on the connection that read them.
+     */
     @Bean
-    public LettuceConnectionFactory redisConnectionFactory(final RedisProperties redisProperties) {
-        return new LettuceConnectionFactory(
-            redisProperties.getHost(),
-            redisProperties.getPort()
-        );
+    public LettuceConnectionFactory redisConnectionFactory(final RedisProperties redisProperties,
+                                                           final ClientSideCachingProperties clientSideCachingProperties) {
+        final RedisStandaloneConfiguration server =
+            new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        if (!clientSideCachingProperties.isEnabled()) {
+            return new LettuceConnectionFactory(server);
+        }
+        return new LettuceConnectionFactory(server, LettuceClientConfiguration.builder()
+            .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build())
+            .build());
     }
 
     @Bean
-    public RedisCacheManager cacheManager(final LettuceConnectionFactory redisConnectionFactory, final RedisExtraProperties redisExtraProperties) {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
+    public RedisMessageListenerContainer redisMessageListenerContainer(final LettuceConnectionFactory redisConnectionFactory) {
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
+    /**
+     * Builds the Redis cache manager holding the configuration of every Redis cache.
+     * <p>
+     * Every cache gets its configured TTL ({@code cache-ttls.<name>}, or {@code ttl} by default) shortened by a random
+     * jitter, so that entries written together expire spread over a window. Values may be wrapped into
+     * {@link com.example.demo.cache.CacheEntry} envelopes, which then decide their own time-to-live. {@code null}
+     * values are cached as negative entries living for the much shorter {@code negative-ttl}, so that repeated
+     * lookups of a missing key do not reach the store each time. Caches are cleared with the configured
+     * {@code clear-strategy}.
+     * </p>
+     */
+    @Bean
+    public RedisCacheManager redisCacheManager(final LettuceConnectionFactory redisConnectionFactory,
+                                               final RedisExtraProperties redisExtraProperties,
+                                               final EarlyExpirationProperties earlyExpirationProperties,
+                                               final StaleWhileRevalidateProperties staleWhileRevalidateProperties,
+                                               final ScanUnlinkBatchStrategy scanUnlinkBatchStrategy) {
+        final RedisSerializer<Object> serializer = new CacheEntryRedisSerializer<>(userValueSerializer(redisExtraProperties),
+            earlyExpirationProperties.isEnabled() || staleWhileRevalidateProperties.isEnabled());
 
-        final Jackson2JsonRedisSerializer<User> serializer = new Jackson2JsonRedisSerializer<>(objectMapper, User.class);
+        final TtlJitter jitter = new TtlJitter(redisExtraProperties.getTtlJitterPercent());
 
         final RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(redisExtraProperties.getTtl())
-            .disableCachingNullValues()
+            .entryTtl(new CacheEntryTtlFunction(redisExtraProperties.getTtl(), redisExtraProperties.getNegativeTtl(),
+                jitter))
             .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
             .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        final Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        redisExtraProperties.getCacheTtls().keySet().forEach(cacheName ->
+            cacheConfigurations.put(cacheName, config.entryTtl(new CacheEntryTtlFunction(
+                redisExtraProperties.getTtlFor(cacheName), redisExtraProperties.getNegativeTtl(), jitter))));
+
+        final BatchStrategy clearStrategy =
+            redisExtraProperties.getClearStrategy() == RedisExtraProperties.ClearStrategy.KEYS
+                ? BatchStrategies.keys()
+                : scanUnlinkBatchStrategy;
+        final RedisCacheWriter cacheWriter =
+            RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory, clearStrategy);
+        return RedisCacheManager.builder(cacheWriter)
             .cacheDefaults(config)
+            .withInitialCacheConfigurations(cacheConfigurations)
             .build();
     }
 
+    /**
+     * Builds the strategy clearing the Redis caches with {@code SCAN} and {@code UNLINK}, which also reports the
+     * progress of the clears.
+     */
+    @Bean
+    public ScanUnlinkBatchStrategy scanUnlinkBatchStrategy(final LettuceConnectionFactory redisConnectionFactory,
+                                                           final RedisExtraProperties redisExtraProperties) {
+        return new ScanUnlinkBatchStrategy(redisConnectionFactory, redisExtraProperties.getClearBatchSize(),
+            redisExtraProperties.isClearAsync());
+    }
+
+    /**
+     * Builds the cache manager backing {@code @Cacheable}/{@code @CachePut}/{@code @CacheEvict}.
+     * <p>
+     * Misses of the Redis caches are loaded under a lock per key rather than the lock per cache of {@code RedisCache}.
+     * When client-side caching is enabled the listed Redis caches are read through a tracked connection and served
+     * from local memory until Redis pushes an invalidation; it replaces the near cache, which cannot be used with it.
+     * When the near cache is enabled the Redis caches are wrapped into two-tier caches whose L1 entries are
+     * invalidated across instances through Redis pub/sub. Caches using single-flight loading let one instance of the
+     * cluster load a missing value while the others wait for it. Caches using stale-while-revalidate serve entries
+     * past their soft TTL while refreshing them in the background; the others may use early expiration to recompute
+     * hot entries ahead of their expiry. When cache instrumentation is enabled the outermost caches record hits, misses, loads, puts,
+     * evictions and latencies as seen by the application.
+     * </p>
+     */
+    @Bean
+    @Primary
+    public CacheManager cacheManager(final RedisCacheManager redisCacheManager,
+                                     final RedisExtraProperties redisExtraProperties,
+                                     final NearCacheProperties nearCacheProperties,
+                                     final ClientSideCachingProperties clientSideCachingProperties,
+                                     final ObjectProvider<ClientTrackingConnection> clientTrackingConnection,
+                                     final SingleFlightProperties singleFlightProperties,
+                                     final StaleWhileRevalidateProperties staleWhileRevalidateProperties,
+                                     final EarlyExpirationProperties earlyExpirationProperties,
+                                     final RefreshExecutor refreshExecutor,
+                                     final CacheMetricsProperties cacheMetricsProperties,
+                                     final CacheMetricsService cacheMetricsService,
+                                     final StringRedisTemplate stringRedisTemplate,
+                                     final RedisMessageListenerContainer redisMessageListenerContainer) {
+        final TtlJitter jitter = new TtlJitter(redisExtraProperties.getTtlJitterPercent());
+        CacheManager cacheManager = new DecoratingCacheManager(redisCacheManager,
+            cache -> new KeyLockingCache(cache, redisExtraProperties.getLoadLockStripes()));
+        if (clientSideCachingProperties.isEnabled()) {
+            if (nearCacheProperties.isEnabled()) {
+                throw new IllegalStateException("Client-side caching and the near cache cannot be enabled together");
+            }
+            final ClientTrackingConnection trackingConnection = clientTrackingConnection.getObject();
+            cacheManager = new DecoratingCacheManager(cacheManager,
+                cache -> clientSideCachingProperties.getCacheNames().contains(cache.getName())
+                    ? new ClientSideCache(cache, redisCacheManager, trackingConnection)
+                    : cache);
+        }
+        if (nearCacheProperties.isEnabled()) {
+            final TwoTierCacheManager twoTierCacheManager =
+                new TwoTierCacheManager(cacheManager, stringRedisTemplate, nearCacheProperties);
+            redisMessageListenerContainer.addMessageListener(twoTierCacheManager,
+                new ChannelTopic(nearCacheProperties.getInvalidationChannel()));
+            cacheManager = twoTierCacheManager;
+        }
+        if (singleFlightProperties.isEnabled()) {
+            final SingleFlightCoordinator coordinator =
+                new SingleFlightCoordinator(stringRedisTemplate, singleFlightProperties);
+            redisMessageListenerContainer.addMessageListener(coordinator,
+                new ChannelTopic(singleFlightProperties.getChannel()));
+            cacheManager = new DecoratingCacheManager(cacheManager,
+                cache -> singleFlightProperties.getCacheNames().contains(cache.getName())
+                    ? new SingleFlightCache(cache, coordinator, singleFlightProperties)
+                    : cache);
+        }
+        final boolean staleWhileRevalidate = staleWhileRevalidateProperties.isEnabled();
+        if (staleWhileRevalidate) {
+            cacheManager = new DecoratingCacheManager(cacheManager,
+                cache -> staleWhileRevalidateProperties.getCacheNames().contains(cache.getName())
+                    ? new StaleWhileRevalidateCache(cache, refreshExecutor, staleWhileRevalidateProperties.getSoftTtl(),
+                        Optional.ofNullable(staleWhileRevalidateProperties.getHardTtl())
+                            .orElse(redisExtraProperties.getTtlFor(cache.getName())),
+                        jitter)
+                    : cache);
+        }
+        if (earlyExpirationProperties.isEnabled()) {
+            // A cache served stale while revalidating never makes a reader wait, so it has no use for early expiration.
+            cacheManager = new DecoratingCacheManager(cacheManager,
+                cache -> earlyExpirationProperties.getCacheNames().contains(cache.getName())
+                    && !(staleWhileRevalidate && staleWhileRevalidateProperties.getCacheNames().contains(cache.getName()))
+                    ? new EarlyExpirationCache(cache, redisExtraProperties.getTtlFor(cache.getName()), jitter,
+                        earlyExpirationProperties.getBeta())
+                    : cache);
+        }
+        if (cacheMetricsProperties.isInstrumentCaches()) {
+            cacheManager = new DecoratingCacheManager(cacheManager,
+                cache -> new InstrumentedCache(cache, cacheMetricsService));
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Builds the serializer for cached {@link User} values according to the configured value format.
+     *
+     * @param redisExtraProperties the extra redis properties.
+     * @return the JSON serializer, or the binary serializer falling back to JSON for entries written before the switch.
+     */
+    static RedisSerializer<User> userValueSerializer(final RedisExtraProperties redisExtraProperties) {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+
+        final Jackson2JsonRedisSerializer<User> jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, User.class);
+        return redisExtraProperties.getValueFormat() == RedisExtraProperties.ValueFormat.BINARY
+            ? new UserBinaryRedisSerializer(jsonSerializer)
+            : jsonSerializer;
+    }
+
+    /**
+     * Template of the reactive read path, sending raw keys and values produced from the cache configurations by
+     * {@link com.example.demo.cache.ReactiveRedisCacheOperations}.
+     */
+    @Bean
+    public ReactiveRedisTemplate<byte[], byte[]> reactiveCacheRedisTemplate(
+        final LettuceConnectionFactory redisConnectionFactory) {
+        return new ReactiveRedisTemplate<>(redisConnectionFactory, RedisSerializationContext.byteArray());
+    }
+
     @Bean
     public RedisTemplate<String, Long> redisTemplate(final LettuceConnectionFactory connectionFactory) {
         RedisTemplate<String, Long> template = new RedisTemplate<>();
@@ -1,7 +1,17 @@
 package com.example.demo.controller;
 
+import com.example.demo.cache.ClientTrackingConnection;
+import com.example.demo.cache.ScanUnlinkBatchStrategy;
+import com.example.demo.exception.SpringRedisDemoException;
+import com.example.demo.executor.RefreshExecutor;
+import com.example.demo.model.CacheClearStatus;
 import com.example.demo.model.CacheMetricsResponse;
+import com.example.demo.model.ClientSideCacheStats;
+import com.example.demo.model.Message;
+import com.example.demo.model.RefreshExecutorStats;
 import com.example.demo.service.CacheMetricsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -12,16 +22,66 @@ import org.springframework.web.bind.annotation.*;
 public class MetricsController {
 
     private final CacheMetricsService metricsService;
+    private final RefreshExecutor refreshExecutor;
+    private final ObjectProvider<ClientTrackingConnection> clientTrackingConnection;
+    private final ScanUnlinkBatchStrategy scanUnlinkBatchStrategy;
 
-    public MetricsController(CacheMetricsService metricsService) {
+    public MetricsController(CacheMetricsService metricsService, RefreshExecutor refreshExecutor,
+                             ObjectProvider<ClientTrackingConnection> clientTrackingConnection,
+                             ScanUnlinkBatchStrategy scanUnlinkBatchStrategy) {
         this.metricsService = metricsService;
+        this.refreshExecutor = refreshExecutor;
+        this.clientTrackingConnection = clientTrackingConnection;
+        this.scanUnlinkBatchStrategy = scanUnlinkBatchStrategy;
+    }
+
+    /**
+     * Retrieves the state of the cache refresh executor, for sizing it under load.
+     *
+     * @return A {@link RefreshExecutorStats} with queue depth, active refreshes and rejected/merged counts.
+     */
+    @GetMapping("/refresh-executor")
+    public RefreshExecutorStats getRefreshExecutorStats() {
+        return refreshExecutor.getStats();
+    }
+
+    /**
+     * Retrieves the state of the server-assisted client-side cache.
+     *
+     * @return A {@link ClientSideCacheStats} with the local hit ratio and the invalidations pushed by Redis.
+     * @throws SpringRedisDemoException if client-side caching is disabled.
+     */
+    @GetMapping("/client-side-cache")
+    public ClientSideCacheStats getClientSideCacheStats() throws SpringRedisDemoException {
+        final ClientTrackingConnection connection = clientTrackingConnection.getIfAvailable();
+        if (connection == null) {
+            final String message = "Client-side caching is disabled";
+            throw new SpringRedisDemoException(message, HttpStatus.NOT_FOUND, new Message(message, 4004));
+        }
+        return connection.getStats();
+    }
+
+    /**
+     * Retrieves the progress of the latest clear of a cache.
+     *
+     * @param cacheName The cache name.
+     * @return A {@link CacheClearStatus} with the state of the clear and the keys deleted so far.
+     * @throws SpringRedisDemoException if the cache was not cleared with the SCAN/UNLINK strategy since startup.
+     */
+    @GetMapping("/{cacheName}/clear")
+    public CacheClearStatus getClearStatus(@PathVariable String cacheName) throws SpringRedisDemoException {
+        return scanUnlinkBatchStrategy.getStatus(cacheName).orElseThrow(() -> {
+            final String message = "No clear of cache " + cacheName + " was recorded";
+            return new SpringRedisDemoException(message, HttpStatus.NOT_FOUND, new Message(message, 4004));
+        });
     }
 
     /**
      * Retrieves metrics for a specific cache.
      *
      * @param cacheName The cache name.
-     * @return A {@link CacheMetricsResponse} containing hit/miss counts and hit rate.
+     * @return A {@link CacheMetricsResponse} containing hit/miss/load/put/eviction counts, hit rate and the
+     *         p50/p95/p99/max latencies of get, load and put on this instance.
      */
     @GetMapping("/{cacheName}")
     public CacheMetricsResponse getMetrics(@PathVariable String cacheName) {
@@ -0,0 +1,60 @@
+package com.example.demo.controller;
+
+import com.example.demo.exception.SpringRedisDemoException;
+import com.example.demo.model.Message;
+import com.example.demo.model.User;
+import com.example.demo.properties.RedisExtraProperties;
+import com.example.demo.service.ReactiveUserService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The non-blocking counterpart of {@link UserController}, serving the same read endpoints when the application runs
+ * in reactive mode ({@code spring.main.web-application-type=reactive}).
+ */
+@RestController
+@RequestMapping("/api/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    private final ReactiveUserService reactiveUserService;
+    private final RedisExtraProperties redisExtraProperties;
+
+    public ReactiveUserController(final ReactiveUserService reactiveUserService,
+                                  final RedisExtraProperties redisExtraProperties) {
+        this.reactiveUserService = reactiveUserService;
+        this.redisExtraProperties = redisExtraProperties;
+    }
+
+    // GET /api/users/{id} -> fetch user by ID (cached), an empty body if unknown like the servlet endpoint
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<User>> getUserById(@PathVariable Long id,
+                                                  @RequestParam(name = "bypassCache", defaultValue = "false") boolean bypassCache) {
+        final Mono<User> user = bypassCache
+            ? reactiveUserService.getUserByIdBypassCache(id)
+            : reactiveUserService.getUserById(id);
+        return user.map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    // GET /api/users?ids=1,2,3 -> fetch several users at once (cached, unknown IDs are skipped)
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<List<User>>> getUsersByIds(@RequestParam(name = "ids") List<Long> ids) throws SpringRedisDemoException {
+        if (ids.size() > redisExtraProperties.getMultiGetMaxIds()) {
+            final String message = "At most " + redisExtraProperties.getMultiGetMaxIds() + " ids can be requested at once";
+            throw new SpringRedisDemoException(message, HttpStatus.BAD_REQUEST, new Message("ids:" + message, 4002));
+        }
+        return reactiveUserService.getUsersByIds(ids)
+            .collectList()
+            .map(ResponseEntity::ok);
+    }
+}
@@ -1,22 +1,53 @@
 package com.example.demo.controller;
 
+import com.example.demo.cache.ScanUnlinkBatchStrategy;
+import com.example.demo.exception.InvalidUserException;
+import com.example.demo.exception.SpringRedisDemoException;
+import com.example.demo.model.BulkImportResult;
+import com.example.demo.model.CacheClearStatus;
+import com.example.demo.model.Message;
 import com.example.demo.model.User;
+import com.example.demo.properties.RedisExtraProperties;
 import com.example.demo.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * The controller of spring-boot-redis-demo application.
+ * The controller of spring-boot-redis-demo application, served in the default servlet mode.
+ * {@link ReactiveUserController} takes over in reactive mode.
  */
 @RestController
 @RequestMapping("/api/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
 
     private final UserService userService;
+    private final RedisExtraProperties redisExtraProperties;
+    private final ObjectMapper objectMapper;
+    private final ScanUnlinkBatchStrategy scanUnlinkBatchStrategy;
 
     // Constructor injection
-    public UserController(UserService userService) {
+    public UserController(UserService userService, RedisExtraProperties redisExtraProperties,
+                          ObjectMapper objectMapper, ScanUnlinkBatchStrategy scanUnlinkBatchStrategy) {
         this.userService = userService;
+        this.redisExtraProperties = redisExtraProperties;
+        this.objectMapper = objectMapper;
+        this.scanUnlinkBatchStrategy = scanUnlinkBatchStrategy;
     }
 
     // GET /api/users/{id} -> fetch user by ID (cached)
@@ -27,4 +58,76 @@ public class UserController {
         }
         return ResponseEntity.ok(userService.getUserById(id));
     }
-}
\ No newline at end of file
+
+    // GET /api/users?ids=1,2,3 -> fetch several users at once (cached, unknown IDs are skipped)
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<User>> getUsersByIds(@RequestParam(name = "ids") List<Long> ids) throws SpringRedisDemoException {
+        if (ids.size() > redisExtraProperties.getMultiGetMaxIds()) {
+            final String message = "At most " + redisExtraProperties.getMultiGetMaxIds() + " ids can be requested at once";
+            throw new SpringRedisDemoException(message, HttpStatus.BAD_REQUEST, new Message("ids:" + message, 4002));
+        }
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
+    // DELETE /api/users -> remove every user; 202 while the cache clear still runs in the background (clear-async)
+    @DeleteMapping
+    public ResponseEntity<CacheClearStatus> removeAllUsers() {
+        userService.removeAllUsers();
+        return scanUnlinkBatchStrategy.getStatus("users")
+            .map(status -> ResponseEntity
+                .status(status.state() == CacheClearStatus.State.RUNNING ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .body(status))
+            .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    // GET /api/users/stream?cursor=42 -> every user after ID 42 in ID order, one JSON user per line, written on an
+    // async thread with a timeout of its own (stream-timeout) rather than the server's default async timeout
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> streamUsers(@RequestParam(name = "cursor", required = false) Long cursor,
+                                          HttpServletResponse response) {
+        final int flushEvery = redisExtraProperties.getStreamPageSize();
+        return new WebAsyncTask<>(redisExtraProperties.getStreamTimeout().toMillis(), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            final ServletOutputStream out = response.getOutputStream();
+            try (Stream<User> users = userService.streamUsers(cursor)) {
+                final Iterator<User> iterator = users.iterator();
+                long written = 0;
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                    // send each page as soon as it is written, the client may resume after the last ID it got
+                    if (++written % flushEvery == 0) {
+                        out.flush();
+                    }
+                }
+            }
+            out.flush();
+            return null;
+        });
+    }
+
+    // POST /api/users/bulk with one JSON user per line -> add or replace them in batches, parsed as the body streams in
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkImportResult> importUsers(InputStream body) throws IOException, SpringRedisDemoException {
+        try (MappingIterator<User> users = objectMapper.readerFor(User.class).readValues(body)) {
+            try {
+                return ResponseEntity.ok(userService.importUsers(users));
+            } catch (InvalidUserException e) {
+                throw invalidImport(e, users);
+            } catch (RuntimeException e) {
+                // MappingIterator wraps the parse errors of a malformed line
+                if (e.getCause() instanceof JsonProcessingException) {
+                    throw invalidImport(e.getCause(), users);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static SpringRedisDemoException invalidImport(final Throwable cause, final MappingIterator<User> users) {
+        final String message = "Invalid user at line " + users.getCurrentLocation().getLineNr()
+            + ", the batches before it were imported: " + cause.getMessage();
+        return new SpringRedisDemoException(message, HttpStatus.BAD_REQUEST, new Message("body:" + message, 4002),
+            cause);
+    }
+}
@@ -2,14 +2,17 @@ package com.example.demo.exception;
 
 import com.example.demo.model.Message;
 import com.example.demo.model.Response;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Global exception handler which intercepts different types of exceptions and returns error responses respectively.
@@ -51,4 +54,18 @@ public class GlobalExceptionHandler
             .status(ex.getStatusCode().value())
             .body(response);
     }
+
+    /**
+     * Handles the work rejected because a bounded queue stayed full, e.g. the write-behind queue, and translates it to
+     * HTTP 503 service unavailable so that clients back off and retry.
+     *
+     * @param ex the exception to be handled.
+     * @return the instance of {@link ResponseEntity}.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Response> handleRejectedWork(final RejectedExecutionException ex) {
+        final Response response = new Response();
+        response.setMessages(List.of(new Message(ex.getMessage(), 5003)));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
 }
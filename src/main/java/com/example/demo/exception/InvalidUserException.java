@@ -0,0 +1,18 @@
+package com.example.demo.exception;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a user handed over for storage is invalid, e.g. a user of a bulk import without ID.
+ */
+public class InvalidUserException extends IllegalArgumentException {
+    @Serial
+    private static final long serialVersionUID = 4470193527914036148L;
+
+    /**
+     * @param message The exception's message.
+     */
+    public InvalidUserException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.executor;
+
+import com.example.demo.model.RefreshExecutorStats;
+import com.example.demo.properties.RefreshExecutorProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor running cache refreshes in the background on virtual threads.
+ * <p>
+ * At most {@code maxConcurrency} refreshes run at once and at most {@code queueCapacity} wait for a slot; anything
+ * beyond that is rejected rather than queued without bound. Refreshes are keyed (a cache entry is keyed by
+ * {@link #entryKey(String, Object)}, whoever refreshes it) and a refresh whose key is already queued or running is
+ * merged into the one in flight instead of being run twice.
+ * </p>
+ */
+@Component
+public class RefreshExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshExecutor.class);
+    private static final Duration KEEP_ALIVE = Duration.ofSeconds(30);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final RefreshExecutorProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Set<Object> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+
+    public RefreshExecutor(final RefreshExecutorProperties properties) {
+        this.properties = properties;
+        // Virtual threads are cheap to create; the pool only serves as concurrency limit and bounded queue.
+        this.executor = new ThreadPoolExecutor(
+            properties.getMaxConcurrency(),
+            properties.getMaxConcurrency(),
+            KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            Thread.ofVirtual().name("cache-refresh-", 0).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @param cacheName the name of the cache.
+     * @param key       the key of the entry in the cache.
+     * @return the key of refreshes of that cache entry, the same for every caller refreshing it.
+     */
+    public static String entryKey(final String cacheName, final Object key) {
+        return cacheName + "::" + key;
+    }
+
+    /**
+     * Submits a refresh unless one with the same key is already in flight.
+     *
+     * @param key  the key identifying what is refreshed.
+     * @param task the refresh to run.
+     * @return {@code true} if the refresh was accepted, {@code false} if it was merged or rejected.
+     */
+    public boolean submit(final Object key, final Runnable task) {
+        if (!inFlight.add(key)) {
+            merged.increment();
+            LOGGER.debug("Refresh of '{}' is already in flight, merging", key);
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Refresh of '{}' failed", key, e);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            rejected.increment();
+            LOGGER.warn("Refresh queue is full, rejecting refresh of '{}'", key);
+            return false;
+        }
+    }
+
+    /**
+     * @return a snapshot of the executor state.
+     */
+    public RefreshExecutorStats getStats() {
+        return new RefreshExecutorStats(
+            properties.getMaxConcurrency(),
+            properties.getQueueCapacity(),
+            executor.getActiveCount(),
+            executor.getQueue().size(),
+            executor.getCompletedTaskCount(),
+            rejected.sum(),
+            merged.sum());
+    }
+
+    /**
+     * Stops accepting refreshes and gives the running ones a chance to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Cache refreshes still running after {}, abandoning them", SHUTDOWN_TIMEOUT);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
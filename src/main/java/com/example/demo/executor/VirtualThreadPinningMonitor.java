@@ -0,0 +1,80 @@
+package com.example.demo.executor;
+
+import com.example.demo.properties.VirtualThreadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinning their carrier thread, from the {@code jdk.VirtualThreadPinned} JFR events.
+ * <p>
+ * A virtual thread blocking inside a {@code synchronized} block or a native frame keeps its carrier busy, and with
+ * as many carriers as cores a few of them are enough to stall every request. Each pinning longer than the threshold
+ * is logged with the frames holding it and counted in {@value #PINNED_METER}. Only active in the virtual-thread mode.
+ * </p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "redis.spring.demo.virtual-threads", name = "pinning-monitor", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_METER = "jvm.threads.virtual.pinned";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final VirtualThreadProperties properties;
+    private final Counter pinnedCounter;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(final VirtualThreadProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pinnedCounter = Counter.builder(PINNED_METER)
+            .description("Virtual threads that blocked while pinned to their carrier thread")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        LOGGER.info("Reporting virtual threads pinned for longer than {} ms", properties.getPinnedThreshold().toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(final RecordedEvent event) {
+        final String frames = event.getStackTrace() == null ? "<no stack trace>"
+            : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        pinnedCounter.increment();
+        LOGGER.warn("Virtual thread pinned its carrier for {} ms:{}", event.getDuration().toMillis(), frames);
+    }
+
+    private static String format(final RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + "(line " + frame.getLineNumber() + ")";
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.filter;
+
+/**
+ * Double hashing of IDs, shared by the probabilistic structures indexing many counters per ID: the
+ * {@link UserIdBloomFilter} and the Count-Min Sketch of the access tracker.
+ * <p>
+ * An ID is hashed twice, and its {@code i}-th index is derived as {@code h1 + i * h2} (Kirsch-Mitzenmacher), which is
+ * as good as {@code i} independent hashes.
+ * </p>
+ */
+public final class IdHashing
+{
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    private IdHashing()
+    {
+    }
+
+    /**
+     * @param id the ID.
+     * @return the first hash of the ID.
+     */
+    public static long firstHash(final long id)
+    {
+        return mix(id);
+    }
+
+    /**
+     * @param id the ID.
+     * @return the second hash of the ID, odd so that the derived indexes never all collide.
+     */
+    public static long secondHash(final long id)
+    {
+        return mix(id ^ SECOND_HASH_SEED) | 1;
+    }
+
+    /**
+     * @param h1    the first hash of the ID.
+     * @param h2    the second hash of the ID.
+     * @param i     the number of the derived hash.
+     * @param bound the number of possible indexes.
+     * @return the {@code i}-th index of the ID, between {@code 0} and {@code bound} excluded.
+     */
+    public static int index(final long h1, final long h2, final int i, final int bound)
+    {
+        return (int) Long.remainderUnsigned(h1 + i * h2, bound);
+    }
+
+    // Finalizer of MurmurHash3, spreading sequential IDs over all bits.
+    private static long mix(final long value)
+    {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.filter;
+
+import com.example.demo.properties.BloomFilterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A counting Bloom filter of the IDs of existing users.
+ * <p>
+ * {@link #mightContain(long)} never answers {@code false} for an ID that was {@linkplain #put(long) put} and not
+ * {@linkplain #remove(long) removed} since, so a negative answer proves the user does not exist and the lookup can be
+ * rejected without touching Redis or the store. A positive answer may be wrong for about
+ * {@code false-positive-rate} of the absent IDs. Each slot holds a counter rather than a bit, so that removing an ID
+ * does not clear the slots it shares with other IDs; callers must therefore only remove IDs they put, and only once.
+ * </p>
+ * <p>
+ * The filter lives in memory and is lock-free. It is sized once from {@link BloomFilterProperties}; when disabled
+ * every ID might be contained.
+ * </p>
+ */
+@Component
+public class UserIdBloomFilter
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserIdBloomFilter.class);
+
+    private final AtomicIntegerArray counters;
+    private final int hashFunctions;
+
+    public UserIdBloomFilter(final BloomFilterProperties bloomFilterProperties)
+    {
+        if (!bloomFilterProperties.isEnabled()) {
+            this.counters = null;
+            this.hashFunctions = 0;
+            return;
+        }
+        final double expectedInsertions = bloomFilterProperties.getExpectedInsertions();
+        final double ln2 = Math.log(2);
+        final int slots = (int) Math.min(Integer.MAX_VALUE - 8, Math.ceil(
+            -expectedInsertions * Math.log(bloomFilterProperties.getFalsePositiveRate()) / (ln2 * ln2)));
+        this.counters = new AtomicIntegerArray(Math.max(slots, 1));
+        this.hashFunctions = Math.max(1, (int) Math.round(counters.length() / expectedInsertions * ln2));
+        LOGGER.info("User ID Bloom filter sized to {} slots and {} hash functions", counters.length(), hashFunctions);
+    }
+
+    /**
+     * @param id the user ID.
+     * @return {@code false} if the user definitely does not exist, {@code true} if it might.
+     */
+    public boolean mightContain(final long id)
+    {
+        if (counters == null) {
+            return true;
+        }
+        final long h1 = IdHashing.firstHash(id);
+        final long h2 = IdHashing.secondHash(id);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (counters.get(slot(h1, h2, i)) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records one more occurrence of the given user ID.
+     *
+     * @param id the user ID.
+     */
+    public void put(final long id)
+    {
+        if (counters == null) {
+            return;
+        }
+        final long h1 = IdHashing.firstHash(id);
+        final long h2 = IdHashing.secondHash(id);
+        for (int i = 0; i < hashFunctions; i++) {
+            counters.incrementAndGet(slot(h1, h2, i));
+        }
+    }
+
+    /**
+     * Withdraws one occurrence of the given user ID, which must have been {@linkplain #put(long) put} before.
+     *
+     * @param id the user ID.
+     */
+    public void remove(final long id)
+    {
+        if (counters == null) {
+            return;
+        }
+        final long h1 = IdHashing.firstHash(id);
+        final long h2 = IdHashing.secondHash(id);
+        for (int i = 0; i < hashFunctions; i++) {
+            counters.decrementAndGet(slot(h1, h2, i));
+        }
+    }
+
+    /**
+     * Replaces the content of the filter with the given user IDs. Lookups running meanwhile may miss some of them, so
+     * this is meant to be called before requests are served.
+     *
+     * @param ids the IDs of all existing users.
+     */
+    public void rebuild(final Collection<Long> ids)
+    {
+        if (counters == null) {
+            return;
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        ids.forEach(this::put);
+        LOGGER.info("Rebuilt user ID Bloom filter from {} users", ids.size());
+    }
+
+    private int slot(final long h1, final long h2, final int i)
+    {
+        return IdHashing.index(h1, h2, i, counters.length());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.model;
+
+/**
+ * Outcome of a bulk import of users.
+ * <p>
+ * In write-behind mode the users are only queued, and whether each of them creates or replaces a user is not known
+ * until they are flushed: they are all counted as {@code queued}, and {@code created} and {@code replaced} are 0.
+ * </p>
+ *
+ * @param received       The number of users read from the input.
+ * @param created        The number of users that did not exist before.
+ * @param replaced       The number of users that replaced a user with the same ID.
+ * @param queued         The number of users queued by the write-behind store, created or replaced once flushed.
+ * @param superseded     The number of users dropped because a later user of the same batch had the same ID.
+ * @param batches        The number of batches written to the store and the cache.
+ * @param elapsedMillis  The time the import took, reading the input included.
+ * @param usersPerSecond The number of users received per second.
+ */
+public record BulkImportResult(
+    long received,
+    long created,
+    long replaced,
+    long queued,
+    long superseded,
+    long batches,
+    long elapsedMillis,
+    double usersPerSecond
+) {}
@@ -0,0 +1,34 @@
+package com.example.demo.model;
+
+import java.time.Instant;
+
+/**
+ * Progress of the latest clear of a cache.
+ *
+ * @param cacheName     The cache name.
+ * @param state         Whether the clear is running, completed or failed.
+ * @param keysUnlinked  The number of keys deleted so far.
+ * @param batches       The number of {@code UNLINK} batches sent so far.
+ * @param startedAt     When the clear started.
+ * @param elapsedMillis The time the clear took, or has taken so far while running.
+ * @param error         The reason of a failure, {@code null} otherwise.
+ */
+public record CacheClearStatus(
+    String cacheName,
+    State state,
+    long keysUnlinked,
+    long batches,
+    Instant startedAt,
+    long elapsedMillis,
+    String error
+) {
+
+    /**
+     * States of a clear.
+     */
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.model;
 
+import java.util.Map;
+
 /**
  * Immutable record representing cache metrics.
  *
@@ -7,11 +9,19 @@ package com.example.demo.model;
  * @param hits      The total number of cache hits.
  * @param misses    The total number of cache misses.
  * @param hitRate   The hit rate of the cache (as a percentage string or ratio).
+ * @param loads     The total number of values loaded from the store after a miss.
+ * @param puts      The total number of writes into the cache.
+ * @param evictions The total number of single entry evictions.
+ * @param latencies The latency percentiles of this instance, keyed by operation ({@code get}, {@code load}, {@code put}).
  */
 public record CacheMetricsResponse(
     String cacheName,
     long hits,
     long misses,
     long total,
-    String hitRate
+    String hitRate,
+    long loads,
+    long puts,
+    long evictions,
+    Map<String, LatencySummary> latencies
 ) {}
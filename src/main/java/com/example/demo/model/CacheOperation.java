@@ -0,0 +1,20 @@
+package com.example.demo.model;
+
+/**
+ * The cache operations whose latency is measured.
+ */
+public enum CacheOperation {
+    /** A lookup in the cache, excluding the time spent loading a missing value. */
+    GET,
+    /** The load of a missing value from the underlying store. */
+    LOAD,
+    /** A write into the cache. */
+    PUT;
+
+    /**
+     * @return the name used for this operation in metric tags and responses.
+     */
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
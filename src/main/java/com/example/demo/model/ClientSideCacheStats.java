@@ -0,0 +1,22 @@
+package com.example.demo.model;
+
+/**
+ * Immutable snapshot of the state of the server-assisted client-side cache.
+ *
+ * @param tracking      Whether Redis currently tracks the keys read, i.e. whether local entries are served.
+ * @param localEntries  The number of entries held in local memory.
+ * @param localHits     The number of reads served from local memory.
+ * @param localMisses   The number of reads that had to go to Redis.
+ * @param localHitRatio The share of reads served from local memory, between 0 and 1.
+ * @param invalidations The number of keys Redis invalidated because they changed or expired.
+ * @param flushes       The number of times every local entry was dropped (server flush, lost connection).
+ */
+public record ClientSideCacheStats(
+    boolean tracking,
+    long localEntries,
+    long localHits,
+    long localMisses,
+    double localHitRatio,
+    long invalidations,
+    long flushes
+) {}
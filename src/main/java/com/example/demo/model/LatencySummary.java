@@ -0,0 +1,18 @@
+package com.example.demo.model;
+
+/**
+ * Immutable record summarising the latency distribution of one cache operation on this instance.
+ *
+ * @param count the number of recorded operations.
+ * @param p50   the median latency in milliseconds.
+ * @param p95   the 95th percentile latency in milliseconds.
+ * @param p99   the 99th percentile latency in milliseconds.
+ * @param max   the maximum latency in milliseconds over the recent window.
+ */
+public record LatencySummary(
+    long count,
+    double p50,
+    double p95,
+    double p99,
+    double max
+) {}
@@ -0,0 +1,22 @@
+package com.example.demo.model;
+
+/**
+ * Immutable snapshot of the state of the cache refresh executor.
+ *
+ * @param maxConcurrency   The maximum number of refreshes running at the same time.
+ * @param queueCapacity    The maximum number of refreshes waiting for a free slot.
+ * @param activeRefreshes  The number of refreshes currently running.
+ * @param queueDepth       The number of refreshes currently waiting for a free slot.
+ * @param completed        The number of refreshes finished so far.
+ * @param rejected         The number of refreshes rejected because the queue was full.
+ * @param merged           The number of refreshes dropped because the same key was already in flight.
+ */
+public record RefreshExecutorStats(
+    int maxConcurrency,
+    int queueCapacity,
+    int activeRefreshes,
+    int queueDepth,
+    long completed,
+    long rejected,
+    long merged
+) {}
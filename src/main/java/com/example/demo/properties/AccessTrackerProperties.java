@@ -0,0 +1,168 @@
+package com.example.demo.properties;
+
+import com.example.demo.validators.PositiveDuration;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Settings of the {@link com.example.demo.tracker.UserAccessTracker}.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.tracker")
+@Validated
+public class AccessTrackerProperties {
+
+    /** Where accesses are counted. */
+    private TrackerType type = TrackerType.REDIS;
+
+    /** Whether accesses are aggregated in memory and flushed periodically instead of written on every load. */
+    private boolean buffered = false;
+
+    /** Interval between two flushes of the buffered accesses. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** Maximum number of distinct users buffered between two flushes; accesses of further users are dropped. */
+    @Positive
+    private int maxBufferSize = 10_000;
+
+    /** Width of one time bucket of the hot user ranking. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration bucketSize = Duration.ofMinutes(1);
+
+    /** Time window merged into the hot user ranking; older buckets expire on their own. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * Age after which the accesses of a bucket only count half in the ranking. In sketch mode, the interval at which
+     * all counts are halved.
+     */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration decayHalfLife = Duration.ofMinutes(5);
+
+    /** Counters per row of the Count-Min Sketch; overestimates are at most about {@code e / width} of all accesses. */
+    @Positive
+    private int sketchWidth = 16_384;
+
+    /** Rows of the Count-Min Sketch; each row makes an overestimate beyond that bound {@code e} times less likely. */
+    @Positive
+    private int sketchDepth = 4;
+
+    /** Number of heavy hitters kept and published by each node in sketch mode. */
+    @Positive
+    private int topK = 100;
+
+    /** Interval between two publications of a node's heavy hitters to Redis in sketch mode. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration publishInterval = Duration.ofSeconds(10);
+
+    public TrackerType getType() {
+        return type;
+    }
+
+    public void setType(final TrackerType type) {
+        this.type = type;
+    }
+
+    public boolean isBuffered() {
+        return buffered;
+    }
+
+    public void setBuffered(final boolean buffered) {
+        this.buffered = buffered;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(final Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    public void setMaxBufferSize(final int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    public Duration getBucketSize() {
+        return bucketSize;
+    }
+
+    public void setBucketSize(final Duration bucketSize) {
+        this.bucketSize = bucketSize;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(final Duration window) {
+        this.window = window;
+    }
+
+    public Duration getDecayHalfLife() {
+        return decayHalfLife;
+    }
+
+    public void setDecayHalfLife(final Duration decayHalfLife) {
+        this.decayHalfLife = decayHalfLife;
+    }
+
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public void setSketchWidth(final int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+    public void setSketchDepth(final int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(final int topK) {
+        this.topK = topK;
+    }
+
+    public Duration getPublishInterval() {
+        return publishInterval;
+    }
+
+    public void setPublishInterval(final Duration publishInterval) {
+        this.publishInterval = publishInterval;
+    }
+
+    /**
+     * Supported access trackers.
+     */
+    public enum TrackerType {
+        /** Every access is counted in Redis sorted sets, see {@code buffered}. */
+        REDIS,
+        /** Accesses are counted in memory; only each node's heavy hitters are published to Redis. */
+        SKETCH
+    }
+}
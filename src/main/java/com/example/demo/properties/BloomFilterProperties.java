@@ -0,0 +1,53 @@
+package com.example.demo.properties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Sizing of the {@link com.example.demo.filter.UserIdBloomFilter} of existing user IDs.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.bloom-filter")
+@Validated
+public class BloomFilterProperties {
+
+    /** Whether lookups of user IDs that are definitely absent are rejected before the cache and the store. */
+    private boolean enabled = true;
+
+    /** Number of user IDs the filter is sized for; beyond it the false positive rate grows. */
+    @Positive
+    private int expectedInsertions = 100_000;
+
+    /** Share of absent IDs reported as possibly present while the filter holds {@code expectedInsertions} IDs. */
+    @DecimalMin(value = "0.0", inclusive = false)
+    @DecimalMax(value = "1.0", inclusive = false)
+    private double falsePositiveRate = 0.01;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void setExpectedInsertions(final int expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.properties;
+
+import com.example.demo.validators.PositiveDuration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Settings of the cache hit/miss metrics kept in Redis.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.metrics")
+@Validated
+public class CacheMetricsProperties {
+
+    /** Whether hits and misses are counted locally and flushed periodically instead of incremented per call. */
+    private boolean aggregate = false;
+
+    /** Interval between two flushes of the locally counted hits and misses. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Whether the caches are wrapped into a decorator recording true hits, misses, loads, puts, evictions and
+     * latencies. When disabled hits and misses are inferred from the results of {@code @Cacheable} methods instead.
+     * Off by default: unless {@code aggregate} is enabled as well, every recorded event costs a Redis {@code INCR} on
+     * the request path, and a miss two.
+     */
+    private boolean instrumentCaches = false;
+
+    public boolean isAggregate() {
+        return aggregate;
+    }
+
+    public void setAggregate(final boolean aggregate) {
+        this.aggregate = aggregate;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(final Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isInstrumentCaches() {
+        return instrumentCaches;
+    }
+
+    public void setInstrumentCaches(final boolean instrumentCaches) {
+        this.instrumentCaches = instrumentCaches;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the server-assisted client-side caching (RESP3 {@code CLIENT TRACKING}) of the Redis caches.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.client-side-caching")
+@Validated
+public class ClientSideCachingProperties {
+
+    /**
+     * Whether reads of the listed caches are served from local memory, kept coherent by the invalidations Redis
+     * pushes. Cannot be combined with the near cache.
+     */
+    private boolean enabled = false;
+
+    /** Maximum number of entries kept in local memory, over all the listed caches. */
+    @Positive
+    private long maximumSize = 10_000;
+
+    /** The caches served from local memory. */
+    private List<String> cacheNames = new ArrayList<>(List.of("users"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(final long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public List<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    public void setCacheNames(final List<String> cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+}
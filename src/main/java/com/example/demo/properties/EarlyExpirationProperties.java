@@ -0,0 +1,52 @@
+package com.example.demo.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the probabilistic early expiration (XFetch) of cache entries.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.early-expiration")
+@Validated
+public class EarlyExpirationProperties {
+
+    /** Whether readers may recompute entries of the listed caches before they expire. */
+    private boolean enabled = false;
+
+    /** How eagerly entries are recomputed; above 1 favours earlier recomputation, below 1 later. */
+    @Positive
+    private double beta = 1.0;
+
+    /** The caches using early expiration. */
+    private List<String> cacheNames = new ArrayList<>(List.of("users"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+
+    public void setBeta(final double beta) {
+        this.beta = beta;
+    }
+
+    public List<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    public void setCacheNames(final List<String> cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.properties;
+
+import com.example.demo.validators.PositiveDuration;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Settings of the in-process (L1) near cache that sits in front of the Redis caches.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.near-cache")
+@Validated
+public class NearCacheProperties {
+
+    /** Whether the L1 tier is placed in front of Redis. */
+    private boolean enabled = false;
+
+    /** Maximum number of entries kept in the L1 tier of each cache. */
+    @Positive
+    private long maximumSize = 10_000;
+
+    /** Time-to-live of an L1 entry, counted from the moment it was written. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /** Redis pub/sub channel used to broadcast L1 invalidations to the other instances. */
+    @NotBlank
+    private String invalidationChannel = "cache:near:invalidation";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(final long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(final Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(final String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.demo.properties;
 
 import com.example.demo.validators.PositiveDuration;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "redis.spring.demo")
@@ -18,6 +24,27 @@ public class RedisExtraProperties {
     @DurationUnit(ChronoUnit.MINUTES)
     private Duration ttl;
 
+    /**
+     * Time-to-live per cache name, overriding {@code ttl} (e.g. {@code cache-ttls.users=10m}). Like {@code ttl}, a
+     * value without unit is in minutes. Bound as text and parsed here, as the binder ignores the unit of map values.
+     */
+    private Map<String, String> cacheTtls = new HashMap<>();
+
+    private Map<String, Duration> parsedCacheTtls = Map.of();
+
+    /** Time-to-live of the negative entries recording that a key was looked up but nothing was found. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    /**
+     * Up to how many percent each entry's time-to-live is shortened at random, so that entries written together do
+     * not all expire at the same instant. {@code 0} disables the jitter.
+     */
+    @Min(0)
+    @Max(100)
+    private int ttlJitterPercent = 10;
+
     /** Interval for refreshing hot users in the cache */
     @PositiveDuration
     @DurationUnit(ChronoUnit.MINUTES)
@@ -25,6 +52,53 @@ public class RedisExtraProperties {
 
     private int topNUsers = 10;
 
+    /** Whether hot users are refreshed with one bulk load and one pipelined cache write per cycle. */
+    private boolean batchRefresh = true;
+
+    /** Maximum number of store loads run at the same time to fill the misses of a multi-get. */
+    @Positive
+    private int multiGetParallelism = 8;
+
+    /** Maximum number of IDs accepted by one multi-get request. */
+    @Positive
+    private int multiGetMaxIds = 500;
+
+    /** Number of users read from the store with one call, and flushed to the client at once, when streaming users. */
+    @Positive
+    private int streamPageSize = 500;
+
+    /**
+     * How long streaming all users may take before the response is cut off. Applies to that endpoint only, other
+     * asynchronous requests keep the server's default timeout.
+     */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /** Number of users of a bulk import written to the store with one call and to the cache with one pipeline. */
+    @Positive
+    private int bulkImportBatchSize = 1_000;
+
+    /**
+     * Number of locks the loads of missing keys are spread over. Loads of keys sharing a lock wait for each other, so
+     * this bounds how many different keys of one cache can be loaded at the same time in this JVM.
+     */
+    @Positive
+    private int loadLockStripes = 1_024;
+
+    /** How {@code @CacheEvict(allEntries = true)} and other cache clears find and delete the keys of a cache. */
+    private ClearStrategy clearStrategy = ClearStrategy.SCAN_UNLINK;
+
+    /** Number of keys asked for by each {@code SCAN} of a clear, and deleted by each {@code UNLINK}. */
+    @Positive
+    private int clearBatchSize = 1_000;
+
+    /** Whether a clear only starts scanning in the background, so that the caller does not wait for it. */
+    private boolean clearAsync = false;
+
+    /** Encoding of cached user values. Binary entries are only written once explicitly opted in. */
+    private ValueFormat valueFormat = ValueFormat.JSON;
+
     // Getters and Setters
     public Duration getTtl()
     {
@@ -36,6 +110,58 @@ public class RedisExtraProperties {
         this.ttl = ttl;
     }
 
+    public Map<String, String> getCacheTtls()
+    {
+        return cacheTtls;
+    }
+
+    /**
+     * @param cacheTtls the time-to-live per cache name, in minutes unless a unit is given.
+     * @throws IllegalArgumentException if a time-to-live cannot be parsed or is not positive.
+     */
+    public void setCacheTtls(final Map<String, String> cacheTtls)
+    {
+        final Map<String, Duration> parsed = new HashMap<>();
+        cacheTtls.forEach((cacheName, value) -> {
+            final Duration cacheTtl = DurationStyle.detectAndParse(value, ChronoUnit.MINUTES);
+            if (!cacheTtl.isPositive()) {
+                throw new IllegalArgumentException("TTL of cache " + cacheName + " must be positive: " + value);
+            }
+            parsed.put(cacheName, cacheTtl);
+        });
+        this.cacheTtls = cacheTtls;
+        this.parsedCacheTtls = Map.copyOf(parsed);
+    }
+
+    /**
+     * @param cacheName the cache name.
+     * @return the time-to-live configured for the cache, or the default one.
+     */
+    public Duration getTtlFor(final String cacheName)
+    {
+        return parsedCacheTtls.getOrDefault(cacheName, ttl);
+    }
+
+    public Duration getNegativeTtl()
+    {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(final Duration negativeTtl)
+    {
+        this.negativeTtl = negativeTtl;
+    }
+
+    public int getTtlJitterPercent()
+    {
+        return ttlJitterPercent;
+    }
+
+    public void setTtlJitterPercent(final int ttlJitterPercent)
+    {
+        this.ttlJitterPercent = ttlJitterPercent;
+    }
+
     public Duration getHotUserInterval() {
         return hotUserInterval;
     }
@@ -53,4 +179,136 @@ public class RedisExtraProperties {
     {
         this.topNUsers = topNUsers;
     }
+
+    public boolean isBatchRefresh()
+    {
+        return batchRefresh;
+    }
+
+    public void setBatchRefresh(final boolean batchRefresh)
+    {
+        this.batchRefresh = batchRefresh;
+    }
+
+    public int getMultiGetParallelism()
+    {
+        return multiGetParallelism;
+    }
+
+    public void setMultiGetParallelism(final int multiGetParallelism)
+    {
+        this.multiGetParallelism = multiGetParallelism;
+    }
+
+    public int getMultiGetMaxIds()
+    {
+        return multiGetMaxIds;
+    }
+
+    public void setMultiGetMaxIds(final int multiGetMaxIds)
+    {
+        this.multiGetMaxIds = multiGetMaxIds;
+    }
+
+    public int getStreamPageSize()
+    {
+        return streamPageSize;
+    }
+
+    public void setStreamPageSize(final int streamPageSize)
+    {
+        this.streamPageSize = streamPageSize;
+    }
+
+    public Duration getStreamTimeout()
+    {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(final Duration streamTimeout)
+    {
+        this.streamTimeout = streamTimeout;
+    }
+
+    public int getBulkImportBatchSize()
+    {
+        return bulkImportBatchSize;
+    }
+
+    public void setBulkImportBatchSize(final int bulkImportBatchSize)
+    {
+        this.bulkImportBatchSize = bulkImportBatchSize;
+    }
+
+    public int getLoadLockStripes()
+    {
+        return loadLockStripes;
+    }
+
+    public void setLoadLockStripes(final int loadLockStripes)
+    {
+        this.loadLockStripes = loadLockStripes;
+    }
+
+    public ClearStrategy getClearStrategy()
+    {
+        return clearStrategy;
+    }
+
+    public void setClearStrategy(final ClearStrategy clearStrategy)
+    {
+        this.clearStrategy = clearStrategy;
+    }
+
+    public int getClearBatchSize()
+    {
+        return clearBatchSize;
+    }
+
+    public void setClearBatchSize(final int clearBatchSize)
+    {
+        this.clearBatchSize = clearBatchSize;
+    }
+
+    public boolean isClearAsync()
+    {
+        return clearAsync;
+    }
+
+    public void setClearAsync(final boolean clearAsync)
+    {
+        this.clearAsync = clearAsync;
+    }
+
+    public ValueFormat getValueFormat()
+    {
+        return valueFormat;
+    }
+
+    public void setValueFormat(final ValueFormat valueFormat)
+    {
+        this.valueFormat = valueFormat;
+    }
+
+    /**
+     * Supported encodings of cached user values.
+     */
+    public enum ValueFormat
+    {
+        /** Jackson JSON, the original format. */
+        JSON,
+        /** Compact versioned binary layout that still reads JSON entries. */
+        BINARY
+    }
+
+    /**
+     * Ways of clearing a Redis cache.
+     */
+    public enum ClearStrategy
+    {
+        /** One {@code KEYS} and one {@code DEL}, which block Redis for as long as the whole keyspace takes. */
+        KEYS,
+        /** Incremental {@code SCAN}s, each batch of keys freed with {@code UNLINK} off the Redis main thread. */
+        SCAN_UNLINK
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.demo.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Sizing of the {@link com.example.demo.executor.RefreshExecutor}.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.refresh-executor")
+@Validated
+public class RefreshExecutorProperties {
+
+    /** Maximum number of refreshes running at the same time. */
+    @Positive
+    private int maxConcurrency = 16;
+
+    /** Maximum number of refreshes waiting for a free slot; further refreshes are rejected. */
+    @Positive
+    private int queueCapacity = 1_000;
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.properties;
+
+import com.example.demo.validators.PositiveDuration;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the cluster-wide single-flight loading of cache misses.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.single-flight")
+@Validated
+public class SingleFlightProperties {
+
+    /** Whether a miss of the listed caches is loaded by one instance of the cluster while the others wait. */
+    private boolean enabled = false;
+
+    /** Lifetime of a load lease; an instance dying mid-load blocks the others for at most this long. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration leaseTtl = Duration.ofSeconds(5);
+
+    /** How long an instance waits for another one to load a value before loading it itself. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration waitTimeout = Duration.ofSeconds(2);
+
+    /** Interval between two checks of the cache while waiting, in case a notification is lost. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /** Redis pub/sub channel announcing that a value has been loaded. */
+    @NotBlank
+    private String channel = "cache:single-flight:loaded";
+
+    /** The caches using single-flight loading. */
+    private List<String> cacheNames = new ArrayList<>(List.of("users"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    public void setLeaseTtl(final Duration leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(final Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(final Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(final String channel) {
+        this.channel = channel;
+    }
+
+    public List<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    public void setCacheNames(final List<String> cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+}
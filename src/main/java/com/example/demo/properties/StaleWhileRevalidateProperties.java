@@ -0,0 +1,68 @@
+package com.example.demo.properties;
+
+import com.example.demo.validators.PositiveDuration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the stale-while-revalidate mode of the caches.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.stale-while-revalidate")
+@Validated
+public class StaleWhileRevalidateProperties {
+
+    /** Whether entries of the listed caches are served stale while being refreshed in the background. */
+    private boolean enabled = false;
+
+    /** Age after which an entry is served stale and refreshed in the background. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration softTtl = Duration.ofMinutes(1);
+
+    /** Age after which an entry is gone and a reader has to wait for the load; defaults to the cache TTL. */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration hardTtl;
+
+    /** The caches using stale-while-revalidate. */
+    private List<String> cacheNames = new ArrayList<>(List.of("users"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSoftTtl() {
+        return softTtl;
+    }
+
+    public void setSoftTtl(final Duration softTtl) {
+        this.softTtl = softTtl;
+    }
+
+    public Duration getHardTtl() {
+        return hardTtl;
+    }
+
+    public void setHardTtl(final Duration hardTtl) {
+        this.hardTtl = hardTtl;
+    }
+
+    public List<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    public void setCacheNames(final List<String> cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Settings of the store holding the users, behind the caches.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.store")
+@Validated
+public class StoreProperties {
+
+    private static final Duration IN_MEMORY_LATENCY = Duration.ofMillis(500);
+
+    /** Which implementation holds the users. */
+    private StoreType type = StoreType.MEMORY;
+
+    /**
+     * Latency added in front of every store call, simulating a remote database. Unset, it is 500 ms for the in-memory
+     * store and nothing for JDBC, whose cost is real.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration simulatedLatency;
+
+    /** Maximum number of IDs looked up by one query of the JDBC store. */
+    @Positive
+    private int jdbcBatchSize = 500;
+
+    public StoreType getType() {
+        return type;
+    }
+
+    public void setType(final StoreType type) {
+        this.type = type;
+    }
+
+    public Duration getSimulatedLatency() {
+        if (simulatedLatency != null) {
+            return simulatedLatency;
+        }
+        return type == StoreType.MEMORY ? IN_MEMORY_LATENCY : Duration.ZERO;
+    }
+
+    public void setSimulatedLatency(final Duration simulatedLatency) {
+        this.simulatedLatency = simulatedLatency;
+    }
+
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    public void setJdbcBatchSize(final int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * Implementations of the user store.
+     */
+    public enum StoreType {
+        /** Users kept in a concurrent map of this JVM. */
+        MEMORY,
+        /** Users kept in a table of the embedded H2 database. */
+        JDBC
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.properties;
+
+import com.example.demo.validators.PositiveDuration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Settings of the guardrails of the virtual-thread mode ({@code spring.threads.virtual.enabled}).
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.virtual-threads")
+@Validated
+public class VirtualThreadProperties {
+
+    /** Whether virtual threads pinning their carrier thread are reported while running on virtual threads. */
+    private boolean pinningMonitor = true;
+
+    /** Shortest pinning reported; shorter ones cost little and are ignored. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+
+    public boolean isPinningMonitor() {
+        return pinningMonitor;
+    }
+
+    public void setPinningMonitor(final boolean pinningMonitor) {
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    public Duration getPinnedThreshold() {
+        return pinnedThreshold;
+    }
+
+    public void setPinnedThreshold(final Duration pinnedThreshold) {
+        this.pinnedThreshold = pinnedThreshold;
+    }
+}
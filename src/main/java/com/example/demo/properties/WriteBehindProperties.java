@@ -0,0 +1,120 @@
+package com.example.demo.properties;
+
+import com.example.demo.validators.PositiveDuration;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Settings of the write-behind mode of the user store.
+ */
+@Component
+@ConfigurationProperties(prefix = "redis.spring.demo.write-behind")
+@Validated
+public class WriteBehindProperties {
+
+    /** Whether user writes are queued and flushed to the store in the background instead of written straight away. */
+    private boolean enabled = false;
+
+    /**
+     * Name of this instance's queue; each instance flushes its own Redis Stream {@code users:write-behind:<node-id>}.
+     * Must stay the same across restarts for writes queued before a crash to be flushed. Defaults to the host name.
+     */
+    @NotBlank
+    private String nodeId = defaultNodeId();
+
+    /** Maximum number of queued writes flushed to the store in one batch. */
+    @Positive
+    private int batchSize = 100;
+
+    /** Maximum time a write waits in the queue for its batch to fill up before being flushed anyway. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /** Interval between two checks of the queue by the background writer. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /** Maximum number of writes waiting to be flushed; further writes wait for room. */
+    @Positive
+    private int maxPending = 10_000;
+
+    /** How long a write waits for room in a full queue before being rejected. */
+    @PositiveDuration
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration backPressureTimeout = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(final String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(final Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(final Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(final int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public Duration getBackPressureTimeout() {
+        return backPressureTimeout;
+    }
+
+    public void setBackPressureTimeout(final Duration backPressureTimeout) {
+        this.backPressureTimeout = backPressureTimeout;
+    }
+
+    private static String defaultNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "local";
+        }
+    }
+}
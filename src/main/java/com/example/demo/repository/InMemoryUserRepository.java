@@ -0,0 +1,103 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link UserRepository} keeping the users in memory.
+ * <p>
+ * The users are held in a {@link ConcurrentSkipListMap}, which neither locks readers nor writers and keeps the IDs
+ * in order. Seeded with the two demo users.
+ * </p>
+ */
+@Repository("userStore")
+@ConditionalOnProperty(prefix = "redis.spring.demo.store", name = "type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserRepository implements UserRepository {
+
+    private final ConcurrentSkipListMap<Long, User> users = new ConcurrentSkipListMap<>();
+
+    public InMemoryUserRepository() {
+        save(new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z")));
+        save(new User(2L, "Bob", "bob@example.com", Instant.parse("2025-10-06T00:05:00Z")));
+    }
+
+    @Override
+    public Optional<User> findById(final Long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public Map<Long, User> findAllById(final Collection<Long> ids) {
+        final Map<Long, User> found = new HashMap<>();
+        ids.forEach(id -> {
+            final User user = users.get(id);
+            if (user != null) {
+                found.put(id, user);
+            }
+        });
+        return found;
+    }
+
+    @Override
+    public Map<Long, User> findAll() {
+        return Map.copyOf(users);
+    }
+
+    @Override
+    public List<User> findPageAfter(final long afterId, final int limit) {
+        return users.tailMap(afterId, false).values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public List<Long> findAllIds() {
+        return List.copyOf(users.keySet());
+    }
+
+    @Override
+    public boolean save(final User user) {
+        return users.put(user.id(), user) != null;
+    }
+
+    @Override
+    public Set<Long> saveAll(final Collection<User> toSave) {
+        final Set<Long> replaced = new HashSet<>();
+        toSave.forEach(user -> {
+            if (save(user)) {
+                replaced.add(user.id());
+            }
+        });
+        return replaced;
+    }
+
+    @Override
+    public boolean deleteById(final Long id) {
+        return users.remove(id) != null;
+    }
+
+    @Override
+    public Set<Long> deleteAllById(final Collection<Long> ids) {
+        final Set<Long> removed = new HashSet<>();
+        ids.forEach(id -> {
+            if (deleteById(id)) {
+                removed.add(id);
+            }
+        });
+        return removed;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return false;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.User;
+import com.example.demo.properties.StoreProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link UserRepository} keeping the users in the {@code users} table of the embedded H2 database.
+ * <p>
+ * Connections come from the HikariCP pool of the application's {@code DataSource}. Every query has a fixed SQL text,
+ * so each pooled connection parses it once and reuses the prepared statement afterwards; in particular
+ * {@link #findAllById(Collection)} binds its IDs as one array parameter ({@code id = ANY(?)}) rather than building
+ * an {@code IN} list per call, one query per {@code jdbc-batch-size} IDs. {@link #saveAll(Collection)} sends its
+ * {@code MERGE}s as JDBC batches of the same size. The table and the two demo users are created by
+ * {@code schema.sql} and {@code data.sql}.
+ * </p>
+ */
+@Repository("userStore")
+@ConditionalOnProperty(prefix = "redis.spring.demo.store", name = "type", havingValue = "jdbc")
+public class JdbcUserRepository implements UserRepository {
+
+    private static final String COLUMNS = "id, name, email, created_at";
+    private static final String FIND_BY_ID = "SELECT " + COLUMNS + " FROM users WHERE id = ?";
+    private static final String FIND_ALL_BY_ID = "SELECT " + COLUMNS + " FROM users WHERE id = ANY(?)";
+    private static final String FIND_ALL = "SELECT " + COLUMNS + " FROM users";
+    private static final String FIND_PAGE_AFTER = "SELECT " + COLUMNS + " FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String FIND_ALL_IDS = "SELECT id FROM users ORDER BY id";
+    private static final String FIND_IDS_BY_ID = "SELECT id FROM users WHERE id = ANY(?)";
+    private static final String UPDATE = "UPDATE users SET name = ?, email = ?, created_at = ? WHERE id = ?";
+    private static final String INSERT = "INSERT INTO users (" + COLUMNS + ") VALUES (?, ?, ?, ?)";
+    private static final String MERGE = "MERGE INTO users (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+    private static final String DELETE_ALL_BY_ID = "DELETE FROM users WHERE id = ANY(?)";
+
+    private static final RowMapper<User> USER_ROW_MAPPER = (rs, rowNum) -> {
+        final OffsetDateTime createdAt = rs.getObject("created_at", OffsetDateTime.class);
+        return new User(rs.getLong("id"), rs.getString("name"), rs.getString("email"),
+            createdAt != null ? createdAt.toInstant() : null);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StoreProperties storeProperties;
+
+    public JdbcUserRepository(final JdbcTemplate jdbcTemplate, final StoreProperties storeProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storeProperties = storeProperties;
+    }
+
+    @Override
+    public Optional<User> findById(final Long id) {
+        return jdbcTemplate.query(FIND_BY_ID, USER_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public Map<Long, User> findAllById(final Collection<Long> ids) {
+        final List<Long> distinctIds = ids.stream().distinct().toList();
+        final int batchSize = storeProperties.getJdbcBatchSize();
+        final Map<Long, User> found = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += batchSize) {
+            final Object[] batch = distinctIds.subList(from, Math.min(from + batchSize, distinctIds.size())).toArray();
+            jdbcTemplate.query(FIND_ALL_BY_ID,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("BIGINT", batch)),
+                    USER_ROW_MAPPER)
+                .forEach(user -> found.put(user.id(), user));
+        }
+        return found;
+    }
+
+    @Override
+    public Map<Long, User> findAll() {
+        final Map<Long, User> users = new HashMap<>();
+        jdbcTemplate.query(FIND_ALL, USER_ROW_MAPPER).forEach(user -> users.put(user.id(), user));
+        return Map.copyOf(users);
+    }
+
+    @Override
+    public List<User> findPageAfter(final long afterId, final int limit) {
+        return jdbcTemplate.query(FIND_PAGE_AFTER, USER_ROW_MAPPER, afterId, limit);
+    }
+
+    @Override
+    public List<Long> findAllIds() {
+        return jdbcTemplate.queryForList(FIND_ALL_IDS, Long.class);
+    }
+
+    @Override
+    public boolean save(final User user) {
+        final OffsetDateTime createdAt = toTimestamp(user.createdAt());
+        if (jdbcTemplate.update(UPDATE, user.name(), user.email(), createdAt, user.id()) > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(INSERT, user.id(), user.name(), user.email(), createdAt);
+            return false;
+        } catch (DuplicateKeyException e) {
+            // Inserted concurrently since the update found nothing
+            jdbcTemplate.update(UPDATE, user.name(), user.email(), createdAt, user.id());
+            return true;
+        }
+    }
+
+    @Override
+    public Set<Long> saveAll(final Collection<User> users) {
+        final List<User> toSave = List.copyOf(users);
+        final int batchSize = storeProperties.getJdbcBatchSize();
+        final Set<Long> replaced = new HashSet<>();
+        for (int from = 0; from < toSave.size(); from += batchSize) {
+            final List<User> batch = toSave.subList(from, Math.min(from + batchSize, toSave.size()));
+            replaced.addAll(findExistingIds(batch.stream().map(User::id).toArray()));
+            jdbcTemplate.batchUpdate(MERGE, batch, batch.size(), (ps, user) -> {
+                ps.setLong(1, user.id());
+                ps.setString(2, user.name());
+                ps.setString(3, user.email());
+                ps.setObject(4, toTimestamp(user.createdAt()));
+            });
+        }
+        return replaced;
+    }
+
+    @Override
+    public boolean deleteById(final Long id) {
+        return jdbcTemplate.update(DELETE, id) > 0;
+    }
+
+    @Override
+    public Set<Long> deleteAllById(final Collection<Long> ids) {
+        final List<Long> distinctIds = ids.stream().distinct().toList();
+        final int batchSize = storeProperties.getJdbcBatchSize();
+        final Set<Long> removed = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += batchSize) {
+            final Object[] batch = distinctIds.subList(from, Math.min(from + batchSize, distinctIds.size())).toArray();
+            removed.addAll(findExistingIds(batch));
+            jdbcTemplate.update(DELETE_ALL_BY_ID,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("BIGINT", batch)));
+        }
+        return removed;
+    }
+
+    private List<Long> findExistingIds(final Object[] ids) {
+        return jdbcTemplate.query(FIND_IDS_BY_ID,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("BIGINT", ids)),
+            (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private static OffsetDateTime toTimestamp(final Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+}
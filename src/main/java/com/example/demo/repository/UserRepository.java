@@ -0,0 +1,91 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The store holding the users, behind the caches.
+ * <p>
+ * Implementations must be safe to call from any number of threads at once: requests, background refreshes and
+ * writes all reach the store concurrently.
+ * </p>
+ */
+public interface UserRepository {
+
+    /**
+     * @param id the user ID.
+     * @return the user, or an empty {@link Optional} if there is none with this ID.
+     */
+    Optional<User> findById(Long id);
+
+    /**
+     * Looks up several users with as few store calls as possible.
+     *
+     * @param ids the user IDs.
+     * @return the users found, keyed by ID; IDs without a user are absent.
+     */
+    Map<Long, User> findAllById(Collection<Long> ids);
+
+    /**
+     * @return an unmodifiable snapshot of every user, keyed by ID.
+     */
+    Map<Long, User> findAll();
+
+    /**
+     * Reads one page of users in ID order, for keyset paging: the next page starts after the last ID of this one.
+     *
+     * @param afterId the ID the page starts after, {@link Long#MIN_VALUE} for the first page.
+     * @param limit   the maximum number of users of the page.
+     * @return the users with an ID greater than {@code afterId}, in ascending ID order; fewer than {@code limit} only
+     * if there are no more.
+     */
+    List<User> findPageAfter(long afterId, int limit);
+
+    /**
+     * @return the IDs of every user, in ascending order.
+     */
+    List<Long> findAllIds();
+
+    /**
+     * Inserts the user, or replaces the user with the same ID.
+     *
+     * @param user the user.
+     * @return {@code true} if a user with the same ID was replaced.
+     */
+    boolean save(User user);
+
+    /**
+     * Inserts or replaces several users with as few store calls as possible.
+     *
+     * @param users the users, at most one per ID.
+     * @return the IDs of the users that replaced a user with the same ID.
+     */
+    Set<Long> saveAll(Collection<User> users);
+
+    /**
+     * @param id the user ID.
+     * @return {@code true} if a user was removed.
+     */
+    boolean deleteById(Long id);
+
+    /**
+     * Removes several users with as few store calls as possible.
+     *
+     * @param ids the user IDs.
+     * @return the IDs of the users removed.
+     */
+    Set<Long> deleteAllById(Collection<Long> ids);
+
+    /**
+     * @return whether calls block the calling thread on I/O, so that non-blocking callers must move them off their
+     *         event loop.
+     */
+    default boolean isBlocking() {
+        return true;
+    }
+}
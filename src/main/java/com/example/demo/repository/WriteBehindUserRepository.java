@@ -0,0 +1,469 @@
+package com.example.demo.repository;
+
+import com.example.demo.filter.UserIdBloomFilter;
+import com.example.demo.model.User;
+import com.example.demo.properties.WriteBehindProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link UserRepository} decorator queueing the writes and flushing them to the store in the background.
+ * <p>
+ * Saves and deletes are appended to this instance's Redis Stream ({@code users:write-behind:<node-id>}), which
+ * survives a restart, and return without waiting for the store. Until a write is flushed, reads of its user are
+ * answered from the latest queued write, so the service never caches a value older than the one it just wrote.
+ * {@link #flush()} reads the queue in order and flushes a batch once it is full or its oldest write has waited for
+ * {@code max-delay}. Several writes of the same user within a batch are coalesced, the last one wins, and the batch
+ * reaches the store through one {@link UserRepository#saveAll(Collection)} and one
+ * {@link UserRepository#deleteAllById(Collection)}; its entries are only removed from the stream afterwards, so a
+ * failed or interrupted flush is retried. Once {@code max-pending} writes are queued, writers wait for room, up to
+ * {@code back-pressure-timeout}, after which the write is rejected.
+ * </p>
+ * <p>
+ * Whether a queued write replaces or removes a user is only known once it is flushed, so {@link #save(User)} and
+ * {@link #deleteById(Long)} report neither: the service counts every queued save in the Bloom filter, and the flush
+ * removes the extra counts. The writes queued before a restart are flushed before the service rebuilds the filter
+ * from the store.
+ * </p>
+ * <p>
+ * Flushes run one at a time under a {@link ReentrantLock} rather than a monitor, so that a flush blocked on Redis or
+ * the store does not pin its carrier in virtual-thread mode. A write is appended to the stream and registered for
+ * reads under the shared side of a read-write lock, and a flush reads the stream under its exclusive side, so that a
+ * flush never sees a write that is not registered yet, and never dequeues it before it is.
+ * </p>
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "redis.spring.demo.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindUserRepository implements UserRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindUserRepository.class);
+    private static final String STREAM_KEY_PREFIX = "users:write-behind:";
+    private static final String ID_FIELD = "id";
+    private static final String USER_FIELD = "user";
+
+    private final UserRepository delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final WriteBehindProperties properties;
+    private final UserIdBloomFilter userIdBloomFilter;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final String streamKey;
+    private final ConcurrentMap<Long, QueuedWrite> queuedWrites = new ConcurrentHashMap<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantReadWriteLock enqueueLock = new ReentrantReadWriteLock();
+    // Whether each user was in the store before its queued writes were first flushed, by the user's oldest queued
+    // write, until they are dequeued. Only used under the flush lock.
+    private final Map<RecordId, Boolean> storedBeforeFlush = new HashMap<>();
+
+    @Autowired
+    public WriteBehindUserRepository(@Qualifier("userStore") final UserRepository delegate,
+                                     final StringRedisTemplate redisTemplate,
+                                     final WriteBehindProperties properties,
+                                     final UserIdBloomFilter userIdBloomFilter,
+                                     final ObjectMapper objectMapper,
+                                     final MeterRegistry meterRegistry) {
+        this(delegate, redisTemplate, properties, userIdBloomFilter, objectMapper, meterRegistry, Clock.systemUTC());
+    }
+
+    WriteBehindUserRepository(final UserRepository delegate, final StringRedisTemplate redisTemplate,
+                              final WriteBehindProperties properties, final UserIdBloomFilter userIdBloomFilter,
+                              final ObjectMapper objectMapper, final MeterRegistry meterRegistry, final Clock clock) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.userIdBloomFilter = userIdBloomFilter;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.streamKey = STREAM_KEY_PREFIX + properties.getNodeId();
+        Gauge.builder("users.write-behind.pending", pending, AtomicLong::get)
+            .description("User writes queued and not flushed to the store yet")
+            .register(meterRegistry);
+        FunctionCounter.builder("users.write-behind.flushed", flushed, LongAdder::sum)
+            .description("Queued user writes flushed to the store")
+            .register(meterRegistry);
+        FunctionCounter.builder("users.write-behind.coalesced", coalesced, LongAdder::sum)
+            .description("Queued user writes superseded by a later write of the same user within a batch")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Flushes the writes queued before the application stopped, before anything reads the store.
+     */
+    @PostConstruct
+    public void flushQueuedBeforeStart() {
+        final Long queued = redisTemplate.opsForStream().size(streamKey);
+        if (queued == null || queued == 0) {
+            return;
+        }
+        LOGGER.info("Flushing {} user writes queued before the restart", queued);
+        pending.set(queued);
+        // The Bloom filter is rebuilt from the store afterwards, so there are no counts to settle.
+        flushBatches(true, false);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flushBatches(true, true);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to flush {} queued user writes on shutdown, flushing them on next start",
+                pending.get(), e);
+        }
+    }
+
+    /**
+     * Flushes every batch that is full or whose oldest write waited for {@code max-delay}. If the store or Redis
+     * cannot be reached the writes stay queued and are retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "#{writeBehindProperties.pollInterval.toMillis()}")
+    public void flush() {
+        try {
+            flushBatches(false, true);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to flush {} queued user writes, retrying on next flush", pending.get(), e);
+        }
+    }
+
+    /**
+     * @return the number of writes queued and not flushed yet.
+     */
+    public long getPending() {
+        return pending.get();
+    }
+
+    @Override
+    public Optional<User> findById(final Long id) {
+        final QueuedWrite queued = queuedWrites.get(id);
+        return queued != null ? queued.user() : delegate.findById(id);
+    }
+
+    @Override
+    public Map<Long, User> findAllById(final Collection<Long> ids) {
+        final Map<Long, User> found = new HashMap<>();
+        final List<Long> unqueued = new ArrayList<>();
+        ids.forEach(id -> {
+            final QueuedWrite queued = queuedWrites.get(id);
+            if (queued == null) {
+                unqueued.add(id);
+            } else {
+                queued.user().ifPresent(user -> found.put(id, user));
+            }
+        });
+        if (!unqueued.isEmpty()) {
+            found.putAll(delegate.findAllById(unqueued));
+        }
+        return found;
+    }
+
+    @Override
+    public Map<Long, User> findAll() {
+        final Map<Long, User> all = new HashMap<>(delegate.findAll());
+        queuedWrites.forEach((id, queued) ->
+            queued.user().ifPresentOrElse(user -> all.put(id, user), () -> all.remove(id)));
+        return Map.copyOf(all);
+    }
+
+    /**
+     * Merges the queued writes into the stored page. A page the queued deletes shortened is completed from the next
+     * stored page, so that a short page still means there are no more users.
+     */
+    @Override
+    public List<User> findPageAfter(final long afterId, final int limit) {
+        final TreeMap<Long, User> page = new TreeMap<>();
+        long storedAfter = afterId;
+        while (true) {
+            final List<User> stored = delegate.findPageAfter(storedAfter, limit);
+            final boolean last = stored.size() < limit;
+            final long from = storedAfter;
+            final long upTo = last ? Long.MAX_VALUE : stored.get(stored.size() - 1).id();
+            stored.forEach(user -> page.put(user.id(), user));
+            queuedWrites.forEach((id, queued) -> {
+                if (id > from && id <= upTo) {
+                    queued.user().ifPresentOrElse(user -> page.put(id, user), () -> page.remove(id));
+                }
+            });
+            if (last || page.size() >= limit) {
+                return page.values().stream().limit(limit).toList();
+            }
+            storedAfter = upTo;
+        }
+    }
+
+    @Override
+    public List<Long> findAllIds() {
+        final TreeSet<Long> ids = new TreeSet<>(delegate.findAllIds());
+        queuedWrites.forEach((id, queued) -> {
+            if (queued.user().isPresent()) {
+                ids.add(id);
+            } else {
+                ids.remove(id);
+            }
+        });
+        return List.copyOf(ids);
+    }
+
+    /**
+     * Queues the save.
+     *
+     * @return always {@code false}, whether the user is replaced is only known once the save is flushed.
+     */
+    @Override
+    public boolean save(final User user) {
+        enqueue(user.id(), Optional.of(user));
+        return false;
+    }
+
+    /**
+     * Queues the saves.
+     *
+     * @return always an empty set, which users are replaced is only known once the saves are flushed.
+     */
+    @Override
+    public Set<Long> saveAll(final Collection<User> users) {
+        users.forEach(user -> enqueue(user.id(), Optional.of(user)));
+        return Set.of();
+    }
+
+    /**
+     * Queues the delete.
+     *
+     * @return always {@code false}, whether a user is removed is only known once the delete is flushed.
+     */
+    @Override
+    public boolean deleteById(final Long id) {
+        enqueue(id, Optional.empty());
+        return false;
+    }
+
+    /**
+     * Queues the deletes.
+     *
+     * @return always an empty set, which users are removed is only known once the deletes are flushed.
+     */
+    @Override
+    public Set<Long> deleteAllById(final Collection<Long> ids) {
+        ids.forEach(id -> enqueue(id, Optional.empty()));
+        return Set.of();
+    }
+
+    private void enqueue(final Long id, final Optional<User> user) {
+        awaitRoom();
+        final Map<String, String> fields = new HashMap<>();
+        fields.put(ID_FIELD, id.toString());
+        user.ifPresent(value -> fields.put(USER_FIELD, toJson(value)));
+        enqueueLock.readLock().lock();
+        try {
+            final RecordId recordId = redisTemplate.opsForStream()
+                .add(StreamRecords.string(fields).withStreamKey(streamKey));
+            pending.incrementAndGet();
+            // Two writers of the same user may get here out of order, the later write in the stream wins.
+            queuedWrites.merge(id, new QueuedWrite(recordId, user),
+                (current, added) -> isAfter(added.recordId(), current.recordId()) ? added : current);
+        } finally {
+            enqueueLock.readLock().unlock();
+        }
+    }
+
+    private void awaitRoom() {
+        final long deadline = System.nanoTime() + properties.getBackPressureTimeout().toNanos();
+        while (pending.get() >= properties.getMaxPending()) {
+            if (System.nanoTime() - deadline >= 0) {
+                final String message = "Write-behind queue is full with " + pending.get() + " pending user writes";
+                throw new RejectedExecutionException(message);
+            }
+            LockSupport.parkNanos(properties.getPollInterval().toNanos());
+        }
+    }
+
+    /**
+     * @param all          whether to flush every queued write, however recent.
+     * @param settleCounts whether to remove the Bloom filter counts of the saves that replaced or were superseded.
+     */
+    private void flushBatches(final boolean all, final boolean settleCounts) {
+        final int batchSize = properties.getBatchSize();
+        flushLock.lock();
+        try {
+            while (true) {
+                final List<MapRecord<String, Object, Object>> batch = readBatch(batchSize);
+                if (batch == null || batch.isEmpty()) {
+                    return;
+                }
+                if (!all && batch.size() < batchSize && !isDue(batch.get(0).getId())) {
+                    return;
+                }
+                flushBatch(batch, settleCounts);
+                if (batch.size() < batchSize) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the oldest queued writes once no write is between its append to the stream and its registration.
+     */
+    private List<MapRecord<String, Object, Object>> readBatch(final int batchSize) {
+        enqueueLock.writeLock().lock();
+        try {
+            return redisTemplate.opsForStream().range(streamKey, Range.unbounded(), Limit.limit().count(batchSize));
+        } finally {
+            enqueueLock.writeLock().unlock();
+        }
+    }
+
+    private void flushBatch(final List<MapRecord<String, Object, Object>> batch, final boolean settleCounts) {
+        final Map<Long, MapRecord<String, Object, Object>> latest = new LinkedHashMap<>();
+        final Map<Long, RecordId> oldest = new HashMap<>();
+        final Map<Long, Integer> queuedSaves = new HashMap<>();
+        batch.forEach(entry -> {
+            final Long id = Long.valueOf((String) entry.getValue().get(ID_FIELD));
+            latest.put(id, entry);
+            oldest.putIfAbsent(id, entry.getId());
+            if (entry.getValue().containsKey(USER_FIELD)) {
+                queuedSaves.merge(id, 1, Integer::sum);
+            }
+        });
+
+        final List<User> saves = new ArrayList<>();
+        final List<Long> deletes = new ArrayList<>();
+        latest.forEach((id, entry) -> {
+            final String json = (String) entry.getValue().get(USER_FIELD);
+            if (json != null) {
+                saves.add(fromJson(json));
+            } else {
+                deletes.add(id);
+            }
+        });
+
+        // Each half is dequeued and then settled on its own. A batch whose dequeue failed is written again on the
+        // next flush, which then finds its users as the first write left them, so what the store held before is
+        // taken from that first write.
+        if (!saves.isEmpty()) {
+            final Set<Long> replaced = delegate.saveAll(saves);
+            final List<Long> ids = saves.stream().map(User::id).toList();
+            ids.forEach(id -> storedBeforeFlush.putIfAbsent(oldest.get(id), replaced.contains(id)));
+            dequeue(ids, latest, batch);
+            // Keep one count per saved user: one per queued save, minus the one it already had if it existed.
+            ids.forEach(id -> {
+                final boolean existed = storedBeforeFlush.remove(oldest.get(id));
+                if (settleCounts) {
+                    removeCounts(id, queuedSaves.get(id) - (existed ? 0 : 1));
+                }
+            });
+        }
+        if (!deletes.isEmpty()) {
+            final Set<Long> removed = delegate.deleteAllById(deletes);
+            deletes.forEach(id -> storedBeforeFlush.putIfAbsent(oldest.get(id), removed.contains(id)));
+            dequeue(deletes, latest, batch);
+            // Keep no count: drop the ones of the saves it superseded and the one of the user it removed.
+            deletes.forEach(id -> {
+                final boolean existed = storedBeforeFlush.remove(oldest.get(id));
+                if (settleCounts) {
+                    removeCounts(id, queuedSaves.getOrDefault(id, 0) + (existed ? 1 : 0));
+                }
+            });
+        }
+        coalesced.add(batch.size() - latest.size());
+    }
+
+    /**
+     * Removes the flushed entries of the given users from the stream and stops answering their reads from the queue,
+     * unless a later write of the same user is queued.
+     */
+    private void dequeue(final List<Long> ids, final Map<Long, MapRecord<String, Object, Object>> latest,
+                         final List<MapRecord<String, Object, Object>> batch) {
+        final Set<Long> flushedIds = Set.copyOf(ids);
+        final RecordId[] recordIds = batch.stream()
+            .filter(entry -> flushedIds.contains(Long.valueOf((String) entry.getValue().get(ID_FIELD))))
+            .map(MapRecord::getId)
+            .toArray(RecordId[]::new);
+        redisTemplate.opsForStream().delete(streamKey, recordIds);
+        pending.addAndGet(-recordIds.length);
+        flushed.add(recordIds.length);
+        ids.forEach(id -> queuedWrites.computeIfPresent(id,
+            (key, queued) -> isAfter(queued.recordId(), latest.get(id).getId()) ? queued : null));
+    }
+
+    private void removeCounts(final Long id, final int counts) {
+        for (int i = 0; i < counts; i++) {
+            userIdBloomFilter.remove(id);
+        }
+    }
+
+    private boolean isDue(final RecordId oldest) {
+        // Stream entry IDs start with the Redis server time, in milliseconds, at which they were added.
+        return clock.millis() - oldest.getTimestamp() >= properties.getMaxDelay().toMillis();
+    }
+
+    private static boolean isAfter(final RecordId first, final RecordId second) {
+        final int byTime = Long.compare(first.getTimestamp(), second.getTimestamp());
+        return byTime != 0 ? byTime > 0 : first.getSequence() > second.getSequence();
+    }
+
+    private String toJson(final User user) {
+        try {
+            return objectMapper.writeValueAsString(user);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user " + user.id(), e);
+        }
+    }
+
+    private User fromJson(final String json) {
+        try {
+            return objectMapper.readValue(json, User.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not deserialize queued user write: " + json, e);
+        }
+    }
+
+    /**
+     * The latest queued write of a user: the user saved, or empty for a delete.
+     */
+    private record QueuedWrite(RecordId recordId, Optional<User> user) {
+    }
+}
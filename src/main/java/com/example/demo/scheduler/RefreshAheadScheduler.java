@@ -55,8 +55,10 @@ public class RefreshAheadScheduler {
      * Periodically refreshes the cache for the top {@code TOP_N_USERS} most frequently accessed users.
      * <p>
      * This method is scheduled to run every 5 minutes. It queries {@link UserAccessTracker}
-     * for the hottest user IDs and invokes {@link CacheRefreshService#refreshUserAhead(Long)}
-     * asynchronously for each.
+     * for the hottest user IDs and, in batch mode, refreshes all of them at once through
+     * {@link CacheRefreshService#refreshUsersAhead(java.util.Collection)}, so a cycle costs a constant number
+     * of round trips. Otherwise it invokes {@link CacheRefreshService#refreshUserAhead(Long)} for each.
+     * Either way the refresh runs on the bounded refresh executor, not on the scheduler thread.
      * </p>
      */
     @Scheduled(fixedRateString = "#{redisExtraProperties.hotUserInterval.toMillis()}")
@@ -77,6 +79,10 @@ public class RefreshAheadScheduler {
             }
 
             LOGGER.info("Refreshing {} hot users: {}", hotUserIds.size(), hotUserIds);
+            if (redisExtraProperties.isBatchRefresh()) {
+                cacheRefreshService.refreshUsersAhead(hotUserIds);
+                return;
+            }
             hotUserIds.forEach(userId -> {
                 LOGGER.debug("Refreshing user with ID {}", userId);
                 cacheRefreshService.refreshUserAhead(userId);
@@ -0,0 +1,83 @@
+package com.example.demo.serializer;
+
+import com.example.demo.cache.CacheEntry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link RedisSerializer} writing {@link CacheEntry} envelopes in front of the payload of a value serializer.
+ * <p>
+ * Layout:
+ * <pre>
+ * magic (1 byte, 0xCE) | version (1 byte) | computeMillis (8 bytes) | expiresAt (8 bytes) | staleAt (8 bytes)
+ * value payload
+ * </pre>
+ * Values that are not envelopes are written by the value serializer alone, and payloads without the magic byte are
+ * read as such, so entries written with and without the envelope can be read either way. The magic byte starts
+ * neither a JSON document nor a binary user payload.
+ * </p>
+ * <p>
+ * When envelopes are not kept, reading one returns the value inside, so entries written while early expiration was
+ * enabled stay readable after it has been switched off.
+ * </p>
+ *
+ * @param <T> the type of the cached values.
+ */
+public class CacheEntryRedisSerializer<T> implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCE;
+    static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 2 + 3 * Long.BYTES;
+
+    private final RedisSerializer<T> valueSerializer;
+    private final boolean keepEnvelope;
+
+    /**
+     * @param valueSerializer the serializer of the cached values.
+     * @param keepEnvelope    whether reading an envelope returns the {@link CacheEntry} or the value inside it.
+     */
+    public CacheEntryRedisSerializer(final RedisSerializer<T> valueSerializer, final boolean keepEnvelope) {
+        this.valueSerializer = valueSerializer;
+        this.keepEnvelope = keepEnvelope;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(final Object value) throws SerializationException {
+        if (!(value instanceof CacheEntry entry)) {
+            return valueSerializer.serialize((T) value);
+        }
+        final byte[] payload = valueSerializer.serialize((T) entry.value());
+        return ByteBuffer.allocate(HEADER_LENGTH + payload.length)
+            .put(MAGIC)
+            .put(VERSION)
+            .putLong(entry.computeMillis())
+            .putLong(entry.expiresAt())
+            .putLong(entry.staleAt())
+            .put(payload)
+            .array();
+    }
+
+    @Override
+    public Object deserialize(final byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return valueSerializer.deserialize(bytes);
+        }
+        final byte version = bytes.length > 1 ? bytes[1] : 0;
+        if (version != VERSION) {
+            throw new SerializationException("Unsupported cache entry version " + version);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Truncated cache entry of " + bytes.length + " bytes");
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, HEADER_LENGTH - 2);
+        final long computeMillis = buffer.getLong();
+        final long expiresAt = buffer.getLong();
+        final long staleAt = buffer.getLong();
+        final T value = valueSerializer.deserialize(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length));
+        return keepEnvelope ? new CacheEntry(value, computeMillis, expiresAt, staleAt) : value;
+    }
+}
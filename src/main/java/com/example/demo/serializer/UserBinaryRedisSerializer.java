@@ -0,0 +1,167 @@
+package com.example.demo.serializer;
+
+import com.example.demo.model.User;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact, versioned binary {@link RedisSerializer} for {@link User} values.
+ * <p>
+ * Layout of version 1:
+ * <pre>
+ * magic (1 byte, 0xB5) | version (1 byte) | presence flags (1 byte)
+ * id         : zig-zag varint
+ * name       : varint length + UTF-8 bytes
+ * email      : varint length + UTF-8 bytes
+ * createdAt  : zig-zag varint epoch millis + varint nano-of-milli
+ * </pre>
+ * Absent ({@code null}) fields are skipped and flagged in the presence byte.
+ * </p>
+ * <p>
+ * The magic byte can never start a JSON document, so payloads without it are handed to the JSON fallback
+ * serializer. This keeps entries written by the JSON serializer readable while a rollout is in progress.
+ * </p>
+ */
+public class UserBinaryRedisSerializer implements RedisSerializer<User> {
+
+    static final byte MAGIC = (byte) 0xB5;
+    static final byte VERSION_1 = 1;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_EMAIL = 1 << 2;
+    private static final int HAS_CREATED_AT = 1 << 3;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    private final RedisSerializer<User> jsonFallback;
+
+    /**
+     * @param jsonFallback the serializer used to read values that were not written in the binary layout.
+     */
+    public UserBinaryRedisSerializer(final RedisSerializer<User> jsonFallback) {
+        this.jsonFallback = jsonFallback;
+    }
+
+    @Override
+    public byte[] serialize(final User user) throws SerializationException {
+        if (user == null) {
+            return new byte[0];
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(MAGIC);
+        out.write(VERSION_1);
+        out.write((user.id() != null ? HAS_ID : 0)
+            | (user.name() != null ? HAS_NAME : 0)
+            | (user.email() != null ? HAS_EMAIL : 0)
+            | (user.createdAt() != null ? HAS_CREATED_AT : 0));
+        if (user.id() != null) {
+            writeVarLong(out, zigZag(user.id()));
+        }
+        if (user.name() != null) {
+            writeString(out, user.name());
+        }
+        if (user.email() != null) {
+            writeString(out, user.email());
+        }
+        if (user.createdAt() != null) {
+            writeVarLong(out, zigZag(user.createdAt().toEpochMilli()));
+            writeVarLong(out, user.createdAt().getNano() % NANOS_PER_MILLI);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public User deserialize(final byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonFallback.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION_1) {
+            throw new SerializationException("Unsupported binary user layout version: " + (bytes.length > 1 ? bytes[1] : "none"));
+        }
+        try {
+            final Reader reader = new Reader(bytes, 3);
+            final int flags = bytes[2];
+            final Long id = (flags & HAS_ID) != 0 ? unZigZag(reader.readVarLong()) : null;
+            final String name = (flags & HAS_NAME) != 0 ? reader.readString() : null;
+            final String email = (flags & HAS_EMAIL) != 0 ? reader.readString() : null;
+            Instant createdAt = null;
+            if ((flags & HAS_CREATED_AT) != 0) {
+                final long epochMillis = unZigZag(reader.readVarLong());
+                createdAt = Instant.ofEpochMilli(epochMillis).plusNanos(reader.readVarLong());
+            }
+            return new User(id, name, email, createdAt);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated binary user payload of " + bytes.length + " bytes", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return User.class;
+    }
+
+    private static void writeString(final ByteArrayOutputStream out, final String value) {
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static void writeVarLong(final ByteArrayOutputStream out, final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Sequential reader over a binary payload.
+     */
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(final byte[] bytes, final int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = bytes[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("Malformed varint in binary user payload");
+        }
+
+        private String readString() {
+            final long length = readVarLong();
+            if (length < 0 || length > bytes.length - position) {
+                throw new SerializationException("String length " + length + " exceeds binary user payload");
+            }
+            final String value = new String(bytes, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.service;
 
 import com.example.demo.model.CacheMetricsResponse;
+import com.example.demo.model.CacheOperation;
 
 /**
  * Service interface for managing cache metrics such as hit and miss counts.
@@ -18,6 +19,14 @@ public interface CacheMetricsService {
      */
     void incrementHitCount(String cacheName);
 
+    /**
+     * Adds several hits to the hit count for a given cache name at once.
+     *
+     * @param cacheName the name of the cache
+     * @param count     the number of hits
+     */
+    void incrementHitCount(String cacheName, long count);
+
     /**
      * Increments the miss count for a given cache name.
      *
@@ -25,6 +34,44 @@ public interface CacheMetricsService {
      */
     void incrementMissCount(String cacheName);
 
+    /**
+     * Adds several misses to the miss count for a given cache name at once.
+     *
+     * @param cacheName the name of the cache
+     * @param count     the number of misses
+     */
+    void incrementMissCount(String cacheName, long count);
+
+    /**
+     * Increments the count of values loaded from the store after a miss.
+     *
+     * @param cacheName the name of the cache
+     */
+    void incrementLoadCount(String cacheName);
+
+    /**
+     * Increments the count of writes into a cache.
+     *
+     * @param cacheName the name of the cache
+     */
+    void incrementPutCount(String cacheName);
+
+    /**
+     * Increments the count of single entry evictions from a cache.
+     *
+     * @param cacheName the name of the cache
+     */
+    void incrementEvictionCount(String cacheName);
+
+    /**
+     * Records the latency of one cache operation.
+     *
+     * @param cacheName the name of the cache
+     * @param operation the measured operation
+     * @param nanos     the elapsed time in nanoseconds
+     */
+    void recordLatency(String cacheName, CacheOperation operation, long nanos);
+
     /**
      * Clears all metrics for a given cache.
      *
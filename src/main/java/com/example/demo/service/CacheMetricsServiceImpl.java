@@ -1,74 +1,234 @@
 package com.example.demo.service;
 
 import com.example.demo.model.CacheMetricsResponse;
+import com.example.demo.model.CacheOperation;
+import com.example.demo.model.LatencySummary;
+import com.example.demo.properties.CacheMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of {@link CacheMetricsService} that stores cache metrics in Redis.
+ * <p>
+ * In aggregating mode hits and misses are only counted in per-cache {@link LongAdder}s and {@link #flush()} sends
+ * them to the same Redis counters with one pipelined batch of {@code INCRBY}s, so a cached call no longer costs
+ * an extra round trip. Counts not flushed yet are added when metrics are generated, which keeps the reported
+ * totals the same as in the per-call mode. A flush and a read of the counters exclude each other, so that counts
+ * moving from local to Redis are never read in both places.
+ * </p>
+ * <p>
+ * Latencies are recorded in Micrometer timers ({@value #LATENCY_METER}, tagged by cache and operation) publishing
+ * p50/p95/p99, so they are also available through the meter registry. Unlike the counters they describe this
+ * instance only.
+ * </p>
  */
 @Service
 public class CacheMetricsServiceImpl implements CacheMetricsService
 {
-
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheMetricsServiceImpl.class);
     private static final String HIT_KEY_PREFIX = "metrics:cache:hit:";
     private static final String MISS_KEY_PREFIX = "metrics:cache:miss:";
+    private static final String LOAD_KEY_PREFIX = "metrics:cache:load:";
+    private static final String PUT_KEY_PREFIX = "metrics:cache:put:";
+    private static final String EVICTION_KEY_PREFIX = "metrics:cache:eviction:";
+    static final String LATENCY_METER = "cache.latency";
 
     private final StringRedisTemplate redisTemplate;
+    private final CacheMetricsProperties metricsProperties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
 
     /**
      * Constructor with injection.
      *
-     * @param redisTemplate the redis template.
+     * @param redisTemplate     the redis template.
+     * @param metricsProperties the metrics settings.
+     * @param meterRegistry     the registry holding the latency timers.
      */
-    public CacheMetricsServiceImpl(StringRedisTemplate redisTemplate)
+    public CacheMetricsServiceImpl(StringRedisTemplate redisTemplate, CacheMetricsProperties metricsProperties,
+                                   MeterRegistry meterRegistry)
     {
         this.redisTemplate = redisTemplate;
+        this.metricsProperties = metricsProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void incrementHitCount(String cacheName)
     {
-        redisTemplate.opsForValue().increment(HIT_KEY_PREFIX + cacheName);
+        increment(HIT_KEY_PREFIX + cacheName);
+    }
+
+    @Override
+    public void incrementHitCount(final String cacheName, final long count)
+    {
+        incrementBy(HIT_KEY_PREFIX + cacheName, count);
     }
 
     @Override
     public CacheMetricsResponse generateCacheMetrics(final String cacheName)
     {
-        final long hits = getHitCount(cacheName);
-        final long misses = getMissCount(cacheName);
-        return new CacheMetricsResponse(cacheName, hits, misses, hits + misses, getHitRate(cacheName));
+        final List<String> keys = counterKeys(cacheName);
+        final List<Long> counts = getValues(keys);
+        final long hits = counts.get(0);
+        final long misses = counts.get(1);
+        return new CacheMetricsResponse(cacheName, hits, misses, hits + misses, getHitRate(hits, misses),
+            counts.get(2), counts.get(3), counts.get(4), getLatencies(cacheName));
     }
 
     @Override
     public void incrementMissCount(String cacheName)
     {
-        redisTemplate.opsForValue().increment(MISS_KEY_PREFIX + cacheName);
+        increment(MISS_KEY_PREFIX + cacheName);
+    }
+
+    @Override
+    public void incrementMissCount(final String cacheName, final long count)
+    {
+        incrementBy(MISS_KEY_PREFIX + cacheName, count);
+    }
+
+    @Override
+    public void incrementLoadCount(final String cacheName)
+    {
+        increment(LOAD_KEY_PREFIX + cacheName);
+    }
+
+    @Override
+    public void incrementPutCount(final String cacheName)
+    {
+        increment(PUT_KEY_PREFIX + cacheName);
+    }
+
+    @Override
+    public void incrementEvictionCount(final String cacheName)
+    {
+        increment(EVICTION_KEY_PREFIX + cacheName);
+    }
+
+    @Override
+    public void recordLatency(final String cacheName, final CacheOperation operation, final long nanos)
+    {
+        timers.computeIfAbsent(timerKey(cacheName, operation), k -> Timer.builder(LATENCY_METER)
+                .tag("cache", cacheName)
+                .tag("operation", operation.tagValue())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry))
+            .record(nanos, TimeUnit.NANOSECONDS);
     }
 
     @Override
     public void resetMetrics(final String cacheName)
     {
-        redisTemplate.delete(HIT_KEY_PREFIX + cacheName);
-        redisTemplate.delete(MISS_KEY_PREFIX + cacheName);
+        final List<String> keys = counterKeys(cacheName);
+        keys.forEach(pendingCounts::remove);
+        redisTemplate.delete(keys);
+        for (final CacheOperation operation : CacheOperation.values()) {
+            final Timer timer = timers.remove(timerKey(cacheName, operation));
+            if (timer != null) {
+                meterRegistry.remove(timer);
+            }
+        }
     }
 
-    private long getHitCount(String cacheName)
+    /**
+     * Sends the locally counted hits and misses to Redis in one pipelined round trip.
+     * If Redis cannot be reached the counts are put back and retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "#{cacheMetricsProperties.flushInterval.toMillis()}")
+    public void flush()
     {
-        return getValue(HIT_KEY_PREFIX + cacheName);
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
     }
 
-    private long getMissCount(String cacheName)
+    private void flushPending()
     {
-        return getValue(MISS_KEY_PREFIX + cacheName);
+        final Map<String, Long> deltas = new HashMap<>();
+        pendingCounts.forEach((key, counter) -> {
+            final long delta = counter.sumThenReset();
+            if (delta > 0) {
+                deltas.put(key, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                deltas.forEach((key, delta) -> connection.stringCommands()
+                    .incrBy(key.getBytes(StandardCharsets.UTF_8), delta));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to flush {} cache metric counters, retrying on next flush", deltas.size(), e);
+            deltas.forEach((key, delta) -> pendingCounts.computeIfAbsent(key, k -> new LongAdder()).add(delta));
+        }
     }
 
-    private String getHitRate(final String cacheName)
+    /**
+     * Flushes whatever is still counted locally before the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown()
+    {
+        if (metricsProperties.isAggregate()) {
+            flush();
+        }
+    }
+
+    private void increment(final String key)
+    {
+        if (metricsProperties.isAggregate()) {
+            pendingCounts.computeIfAbsent(key, k -> new LongAdder()).increment();
+        } else {
+            redisTemplate.opsForValue().increment(key);
+        }
+    }
+
+    private void incrementBy(final String key, final long count)
+    {
+        if (count <= 0) {
+            return;
+        }
+        if (metricsProperties.isAggregate()) {
+            pendingCounts.computeIfAbsent(key, k -> new LongAdder()).add(count);
+        } else {
+            redisTemplate.opsForValue().increment(key, count);
+        }
+    }
+
+    private String getHitRate(final long hits, final long misses)
     {
-        long hits = getHitCount(cacheName);
-        long misses = getMissCount(cacheName);
         long total = hits + misses;
         if (total == 0) {
             return "0%";
@@ -77,10 +237,66 @@ public class CacheMetricsServiceImpl implements CacheMetricsService
         return String.format("%.0f%%", rate);
     }
 
-    private long getValue(final String key)
+    /**
+     * Reads the given counters with a single {@code MGET}, adding the counts not flushed yet. Holds the flush lock, so
+     * that no flush moves counts from local to Redis between the two reads.
+     */
+    private List<Long> getValues(final List<String> keys)
+    {
+        flushLock.lock();
+        try {
+            return readValues(keys);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<Long> readValues(final List<String> keys)
+    {
+        final List<String> values = Optional.ofNullable(redisTemplate.opsForValue().multiGet(keys))
+            .orElse(List.of());
+        return IntStream.range(0, keys.size())
+            .mapToObj(i -> {
+                final long pending = Optional.ofNullable(pendingCounts.get(keys.get(i)))
+                    .map(LongAdder::sum)
+                    .orElse(0L);
+                final long stored = i < values.size() && values.get(i) != null ? Long.parseLong(values.get(i)) : 0L;
+                return pending + stored;
+            })
+            .toList();
+    }
+
+    private Map<String, LatencySummary> getLatencies(final String cacheName)
+    {
+        final Map<String, LatencySummary> latencies = new LinkedHashMap<>();
+        for (final CacheOperation operation : CacheOperation.values()) {
+            final Timer timer = timers.get(timerKey(cacheName, operation));
+            if (timer != null) {
+                latencies.put(operation.tagValue(), summarize(timer.takeSnapshot()));
+            }
+        }
+        return latencies;
+    }
+
+    private static LatencySummary summarize(final HistogramSnapshot snapshot)
+    {
+        final Map<Double, Double> percentiles = new HashMap<>();
+        for (final ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+        }
+        return new LatencySummary(snapshot.count(), percentiles.getOrDefault(0.5, 0.0),
+            percentiles.getOrDefault(0.95, 0.0), percentiles.getOrDefault(0.99, 0.0),
+            snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static List<String> counterKeys(final String cacheName)
+    {
+        return List.of(HIT_KEY_PREFIX + cacheName, MISS_KEY_PREFIX + cacheName, LOAD_KEY_PREFIX + cacheName,
+            PUT_KEY_PREFIX + cacheName, EVICTION_KEY_PREFIX + cacheName);
+    }
+
+    private static String timerKey(final String cacheName, final CacheOperation operation)
     {
-        return Optional.ofNullable(redisTemplate.opsForValue().get(key))
-            .map(Long::parseLong)
-            .orElse(0L);
+        return cacheName + ":" + operation.tagValue();
     }
-}
\ No newline at end of file
+}
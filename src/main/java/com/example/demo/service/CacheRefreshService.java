@@ -1,5 +1,7 @@
 package com.example.demo.service;
 
+import java.util.Collection;
+
 /**
  * Interface for service responsible for asynchronously refreshing cached user data.
  */
@@ -12,4 +14,12 @@ public interface CacheRefreshService {
      * * @param id the user ID to refresh
      */
     void refreshUserAhead(Long id);
+
+    /**
+     * Asynchronously refreshes several users in the cache at once: all of them are loaded with one bulk call to the
+     * data store and written back with one pipelined round trip to Redis, however many users there are.
+     *
+     * @param ids the user IDs to refresh
+     */
+    void refreshUsersAhead(Collection<Long> ids);
 }
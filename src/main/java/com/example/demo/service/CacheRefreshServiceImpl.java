@@ -1,29 +1,64 @@
 package com.example.demo.service;
 
-import org.springframework.scheduling.annotation.Async;
+import com.example.demo.cache.RedisCacheBatchOperations;
+import com.example.demo.executor.RefreshExecutor;
+import com.example.demo.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Default implementation of {@link CacheRefreshService}.
  */
 @Service
 public class CacheRefreshServiceImpl implements CacheRefreshService
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheRefreshServiceImpl.class);
+    private static final String USERS_CACHE = "users";
+    private static final String BATCH_REFRESH_KEY = "users:batch-refresh";
+
     private final UserService userService;
+    private final RedisCacheBatchOperations cacheBatchOperations;
+    private final RefreshExecutor refreshExecutor;
 
-    public CacheRefreshServiceImpl(UserService userService)
+    public CacheRefreshServiceImpl(UserService userService, RedisCacheBatchOperations cacheBatchOperations,
+                                   RefreshExecutor refreshExecutor)
     {
         this.userService = userService;
+        this.cacheBatchOperations = cacheBatchOperations;
+        this.refreshExecutor = refreshExecutor;
     }
 
     /**
-     * Asynchronously refreshes a user in the cache.
+     * Asynchronously refreshes a user in the cache on the {@link RefreshExecutor}.
+     * A refresh of a user that is already being refreshed, here or by a stale read, is merged into the one in flight.
      *
      * @param id the user ID to refresh
      */
-    @Async
     public void refreshUserAhead(Long id)
     {
-        userService.refreshUser(id); // dedicated refresh method in UserService
+        // dedicated refresh method in UserService
+        refreshExecutor.submit(RefreshExecutor.entryKey(USERS_CACHE, id), () -> userService.refreshUser(id));
+    }
+
+    /**
+     * Asynchronously refreshes the users in one batch on the {@link RefreshExecutor}, like single refreshes.
+     * A batch submitted while the previous one is still in flight is merged into it.
+     *
+     * @param ids the user IDs to refresh
+     */
+    @Override
+    public void refreshUsersAhead(final Collection<Long> ids)
+    {
+        final Collection<Long> snapshot = List.copyOf(ids);
+        refreshExecutor.submit(BATCH_REFRESH_KEY, () -> {
+            final Map<Long, User> users = userService.loadUsers(snapshot);
+            cacheBatchOperations.putAll(USERS_CACHE, users);
+            LOGGER.debug("Refreshed {} of {} requested users in one batch", users.size(), snapshot.size());
+        });
     }
 }
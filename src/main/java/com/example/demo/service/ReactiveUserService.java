@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking read path of the users, serving the reactive mode ({@code spring.main.web-application-type=reactive}).
+ * <p>
+ * It shares the {@code users} cache entries, the data store and the access tracking with {@link UserService}, but
+ * never blocks the calling thread: cache reads and writes go through the reactive Redis API and the store latency is
+ * awaited with a timer rather than a sleeping thread.
+ * </p>
+ */
+public interface ReactiveUserService
+{
+    /**
+     * Retrieves a user by its ID.
+     *
+     * @param id the unique ID of the user.
+     * @return the matching {@link User}, or an empty {@link Mono} if not found.
+     */
+    Mono<User> getUserById(Long id);
+
+    /**
+     * Retrieves several users at once.
+     *
+     * @param ids the unique IDs of the users.
+     * @return the found {@link User}s in the order of their first occurrence in {@code ids}; unknown IDs are skipped.
+     */
+    Flux<User> getUsersByIds(Collection<Long> ids);
+
+    /**
+     * Retrieves a user by its ID bypassing the cache.
+     *
+     * @param id the unique ID of the user.
+     * @return the matching {@link User}, or an empty {@link Mono} if not found.
+     */
+    Mono<User> getUserByIdBypassCache(Long id);
+}
@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.example.demo.cache.ReactiveRedisCacheOperations;
+import com.example.demo.filter.UserIdBloomFilter;
+import com.example.demo.model.User;
+import com.example.demo.properties.RedisExtraProperties;
+import com.example.demo.properties.StoreProperties;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.tracker.UserAccessTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default implementation of {@link ReactiveUserService}.
+ * <p>
+ * Concurrent misses of the same user in this instance share one store load, like {@code @Cacheable(sync = true)}
+ * does on the blocking path. The simulated store latency is awaited with a timer, and calls to a blocking store run
+ * on the bounded elastic scheduler. Access tracking and cache metrics may still block on Redis, so they run detached
+ * on the bounded elastic scheduler too and never delay the response.
+ * </p>
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserServiceImpl implements ReactiveUserService
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveUserServiceImpl.class);
+    private static final String USERS_CACHE = "users";
+
+    private final ReactiveRedisCacheOperations cacheOperations;
+    private final UserIdBloomFilter userIdBloomFilter;
+    private final UserAccessTracker userAccessTracker;
+    private final CacheMetricsService cacheMetricsService;
+    private final RedisExtraProperties redisExtraProperties;
+    private final UserRepository userRepository;
+    private final StoreProperties storeProperties;
+    private final ConcurrentHashMap<Long, Mono<Optional<User>>> inFlightLoads = new ConcurrentHashMap<>();
+
+    public ReactiveUserServiceImpl(final ReactiveRedisCacheOperations cacheOperations,
+                                   final UserIdBloomFilter userIdBloomFilter,
+                                   final UserAccessTracker userAccessTracker,
+                                   final CacheMetricsService cacheMetricsService,
+                                   final RedisExtraProperties redisExtraProperties,
+                                   final UserRepository userRepository,
+                                   final StoreProperties storeProperties)
+    {
+        this.cacheOperations = cacheOperations;
+        this.userIdBloomFilter = userIdBloomFilter;
+        this.userAccessTracker = userAccessTracker;
+        this.cacheMetricsService = cacheMetricsService;
+        this.redisExtraProperties = redisExtraProperties;
+        this.userRepository = userRepository;
+        this.storeProperties = storeProperties;
+    }
+
+    @Override
+    public Mono<User> getUserById(final Long id)
+    {
+        if (!userIdBloomFilter.mightContain(id)) {
+            LOGGER.debug("Rejecting lookup of unknown user ID: {}", id);
+            return Mono.empty();
+        }
+        return cacheOperations.get(USERS_CACHE, id)
+            .map(wrapper -> {
+                runDetached(() -> cacheMetricsService.incrementHitCount(USERS_CACHE));
+                // a null value is a negative entry: the user is known not to exist
+                return Optional.ofNullable((User) wrapper.get());
+            })
+            .switchIfEmpty(Mono.defer(() -> {
+                runDetached(() -> cacheMetricsService.incrementMissCount(USERS_CACHE));
+                return loadOnce(id);
+            }))
+            .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(final Collection<Long> ids)
+    {
+        return Flux.fromIterable(ids)
+            .filter(Objects::nonNull)
+            .distinct()
+            .flatMapSequential(this::getUserById, redisExtraProperties.getMultiGetParallelism());
+    }
+
+    @Override
+    public Mono<User> getUserByIdBypassCache(final Long id)
+    {
+        LOGGER.debug("Fetching user by ID bypassing cache: {}", id);
+        return loadFromStore(id)
+            .doOnNext(user -> user.ifPresent(found -> trackAccess(id)))
+            .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Loads the user and caches the result, negative or not, sharing the load with concurrent misses of the same user.
+     */
+    private Mono<Optional<User>> loadOnce(final Long id)
+    {
+        return inFlightLoads.computeIfAbsent(id, key -> loadFromStore(key)
+            .flatMap(user -> cacheOperations.put(USERS_CACHE, key, user.orElse(null))
+                .onErrorResume(e -> {
+                    LOGGER.warn("Failed to cache user {}, serving it uncached", key, e);
+                    return Mono.empty();
+                })
+                .thenReturn(user))
+            .doOnNext(user -> user.ifPresent(found -> trackAccess(key)))
+            .doFinally(signal -> inFlightLoads.remove(key))
+            .cache());
+    }
+
+    private Mono<Optional<User>> loadFromStore(final Long id)
+    {
+        final Mono<Optional<User>> find = Mono.fromCallable(() -> {
+            LOGGER.debug("Fetching user from DB with ID: {}", id);
+            return userRepository.findById(id);
+        });
+        final Mono<Optional<User>> load = userRepository.isBlocking()
+            ? find.subscribeOn(Schedulers.boundedElastic())
+            : find;
+        final Duration latency = storeProperties.getSimulatedLatency();
+        return latency.isZero() ? load : Mono.delay(latency).then(load);
+    }
+
+    private void trackAccess(final Long id)
+    {
+        runDetached(() -> userAccessTracker.recordAccess(id));
+    }
+
+    private static void runDetached(final Runnable task)
+    {
+        Mono.fromRunnable(task)
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(null, e -> LOGGER.warn("Background task of the reactive read path failed", e));
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.demo.service;
 
+import com.example.demo.exception.InvalidUserException;
+import com.example.demo.model.BulkImportResult;
 import com.example.demo.model.User;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Internal service which is responsible for CRUD operations on a given user.
@@ -17,6 +23,18 @@ public interface UserService
      */
     User getUserById(Long id);
 
+    /**
+     * Retrieves several users at once.
+     * <p>
+     * All IDs are looked up in the cache with a single multi-key read; only the misses are loaded from the
+     * data store, concurrently, and written back to the cache with a single pipelined write.
+     * </p>
+     *
+     * @param ids the unique IDs of the users.
+     * @return the found {@link User}s in the order of their first occurrence in {@code ids}; unknown IDs are skipped.
+     */
+    List<User> getUsersByIds(Collection<Long> ids);
+
     /**
      * Retrieves a user by its ID bypassing the cache.
      *
@@ -33,8 +51,21 @@ public interface UserService
      * </p>
      *
      * @param id the user id.
+     * @return the refreshed {@link User}, or {@code null} if not found.
+     */
+    User refreshUser(Long id);
+
+    /**
+     * Loads the given users from the underlying data store in a single bulk call, bypassing the cache.
+     * <p>
+     * Unknown IDs are skipped. Accesses are not recorded, as this is meant for cache maintenance rather than
+     * for serving requests.
+     * </p>
+     *
+     * @param ids the unique IDs of the users to load.
+     * @return a {@link Map} of the found user IDs to their {@link User}.
      */
-    void refreshUser(Long id);
+    Map<Long, User> loadUsers(Collection<Long> ids);
 
 
     /**
@@ -45,6 +76,20 @@ public interface UserService
      */
     User addUser(User user);
 
+    /**
+     * Adds or replaces many users, consuming them as they are iterated.
+     * <p>
+     * The users are grouped in batches of {@code bulk-import-batch-size}; each batch is written to the data store with
+     * one bulk call and to the cache with one pipelined write, instead of one store call and one cache round trip per
+     * user. Within a batch, the last user of an ID wins. If reading a user fails, the batches written before it stay.
+     * </p>
+     *
+     * @param users the users, e.g. parsed lazily from a request body.
+     * @return the counts and throughput of the import.
+     * @throws InvalidUserException if a user has no ID.
+     */
+    BulkImportResult importUsers(Iterator<User> users);
+
     /**
      * Removes a user with the specified ID from both the data store and the cache.
      *
@@ -62,11 +107,31 @@ public interface UserService
 
     /**
      * Removes all users from both the cache and the underlying data store.
+     * <p>
+     * The cache is cleared with the configured {@code clear-strategy}; with {@code clear-async} the clear may still be
+     * running when this returns.
+     * </p>
      */
     void removeAllUsers();
 
+    /**
+     * Streams the users of the data store in ascending ID order, bypassing the cache.
+     * <p>
+     * The users are read lazily, one page of {@code stream-page-size} users per store call, so that only one page is
+     * held in memory however many users there are, and the first users are available before the last page is read.
+     * A consumer that stopped can resume after the last ID it received.
+     * </p>
+     *
+     * @param cursor the ID the stream starts after, or {@code null} to start with the first user.
+     * @return the users with an ID greater than {@code cursor}, in ascending ID order.
+     */
+    Stream<User> streamUsers(Long cursor);
+
     /**
      * Retrieves an immutable view of all users currently in the data store.
+     * <p>
+     * The whole dataset is copied for every call; prefer {@link #streamUsers(Long)} for large datasets.
+     * </p>
      *
      * @return a {@link Map} of user IDs to {@link User} objects.
      */
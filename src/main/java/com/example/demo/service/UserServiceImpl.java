@@ -1,7 +1,16 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.RedisCacheBatchOperations;
+import com.example.demo.exception.InvalidUserException;
+import com.example.demo.filter.UserIdBloomFilter;
+import com.example.demo.model.BulkImportResult;
 import com.example.demo.model.User;
+import com.example.demo.properties.RedisExtraProperties;
+import com.example.demo.properties.StoreProperties;
+import com.example.demo.properties.WriteBehindProperties;
+import com.example.demo.repository.UserRepository;
 import com.example.demo.tracker.UserAccessTracker;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,9 +20,25 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Default implementation of {@link UserService}.
@@ -22,52 +47,122 @@ import java.util.Map;
 public class UserServiceImpl implements UserService
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final String USERS_CACHE = "users";
 
     @Autowired
     private UserAccessTracker userAccessTracker;
+    @Autowired
+    private CacheMetricsService cacheMetricsService;
+    @Autowired
+    private RedisCacheBatchOperations cacheBatchOperations;
+    @Autowired
+    private RedisExtraProperties redisExtraProperties;
+    @Autowired
+    private UserIdBloomFilter userIdBloomFilter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StoreProperties storeProperties;
+    @Autowired
+    private WriteBehindProperties writeBehindProperties;
 
-    // Simulate a database
-    private static final Map<Long, User> USER_DATABASE = new HashMap<>(Map.of(
-        1L, new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z")),
-        2L, new User(2L, "Bob", "bob@example.com", Instant.parse("2025-10-06T00:05:00Z"))
-    ));
+    @PostConstruct
+    void rebuildBloomFilter()
+    {
+        userIdBloomFilter.rebuild(userRepository.findAllIds());
+    }
 
-    @Cacheable(cacheNames = "users", key = "#id", sync = true)
+    // IDs the Bloom filter rules out never reach the cache, so they cost neither a Redis round trip nor an entry
+    @Cacheable(cacheNames = "users", key = "#id", sync = true, condition = "@userIdBloomFilter.mightContain(#id)")
     public User getUserById(final Long id)
     {
+        if (!userIdBloomFilter.mightContain(id)) {
+            LOGGER.debug("Rejecting lookup of unknown user ID: {}", id);
+            return null;
+        }
         LOGGER.debug("Fetching user from DB with ID: {}", id);
         simulateLatency();
-        final User user = USER_DATABASE.get(id);
+        final User user = userRepository.findById(id).orElse(null);
         if  (user != null) {
             userAccessTracker.recordAccess(id);
         }
         return user;
     }
 
+    @Override
+    public List<User> getUsersByIds(final Collection<Long> ids)
+    {
+        final List<Long> distinctIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .filter(userIdBloomFilter::mightContain)
+            .toList();
+        LOGGER.debug("Fetching {} users by ID", distinctIds.size());
+
+        final Map<Object, Object> cached = cacheBatchOperations.getAll(USERS_CACHE, distinctIds);
+        final Map<Long, User> found = new HashMap<>();
+        final List<Long> misses = new ArrayList<>();
+        distinctIds.forEach(id -> {
+            if (cached.containsKey(id)) {
+                // a null value is a negative entry: the user is known not to exist
+                if (cached.get(id) instanceof User user) {
+                    found.put(id, user);
+                }
+            } else {
+                misses.add(id);
+            }
+        });
+        // one counter update and one access batch per request, so the MGET is not followed by a round trip per ID
+        cacheMetricsService.incrementHitCount(USERS_CACHE, distinctIds.size() - misses.size());
+        cacheMetricsService.incrementMissCount(USERS_CACHE, misses.size());
+
+        final Map<Long, User> loaded = loadFromStoreConcurrently(misses);
+        final Map<Long, User> toCache = new HashMap<>(loaded);
+        misses.stream()
+            .filter(id -> !loaded.containsKey(id))
+            .forEach(id -> toCache.put(id, null));
+        cacheBatchOperations.putAll(USERS_CACHE, toCache);
+        found.putAll(loaded);
+        userAccessTracker.recordAccesses(found.keySet());
+
+        return distinctIds.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
     @Override
     public User getUserByIdBypassCache(final Long id)
     {
         LOGGER.debug("Fetching user by ID bypassing cache: {}", id);
         simulateLatency();
-        final User user = USER_DATABASE.get(id);
+        final User user = userRepository.findById(id).orElse(null);
         if (user != null) {
             userAccessTracker.recordAccess(id); // Track access
         }
         return user;
     }
 
-    // Refresh cache (fetch + update cache)
-    @CachePut(cacheNames = "users", key = "#id")
-    public void refreshUser(Long id) {
+    // Refresh cache (fetch + update cache); a user that no longer exists is left to expire
+    @CachePut(cacheNames = "users", key = "#id", unless = "#result == null")
+    public User refreshUser(Long id) {
         LOGGER.info("Refreshing user in cache: {}", id);
-        getUserByIdBypassCache(id); // fetch fresh data
+        return getUserByIdBypassCache(id); // fetch fresh data
+    }
+
+    @Override
+    public Map<Long, User> loadUsers(final Collection<Long> ids)
+    {
+        LOGGER.debug("Bulk loading {} users from DB", ids.size());
+        simulateLatency(); // one round trip for the whole batch
+        return userRepository.findAllById(ids);
     }
 
     @CachePut(value = "users", key = "#user.id")
     public User addUser(User user)
     {
         LOGGER.info("Adding new user to database and cache: {}", user.id());
-        USER_DATABASE.put(user.id(), user);
+        storeUser(user);
         return user;
     }
 
@@ -75,39 +170,192 @@ public class UserServiceImpl implements UserService
     public void removeUser(Long id)
     {
         LOGGER.info("Removing user from database and cache: {}", id);
-        USER_DATABASE.remove(id);
+        deleteUser(id);
     }
 
     @CachePut(value = "users", key = "#user.id")
     public User updateUser(User user)
     {
         LOGGER.info("Updating user in database and cache: {}", user.id());
-        USER_DATABASE.put(user.id(), user);
+        storeUser(user);
         return user;
     }
 
+    @Override
+    public BulkImportResult importUsers(final Iterator<User> users)
+    {
+        final long start = System.nanoTime();
+        final int batchSize = redisExtraProperties.getBulkImportBatchSize();
+        final Map<Long, User> batch = new LinkedHashMap<>();
+        long received = 0;
+        long replaced = 0;
+        long stored = 0;
+        long batches = 0;
+        while (users.hasNext()) {
+            final User user = users.next();
+            received++;
+            if (user == null || user.id() == null) {
+                throw new InvalidUserException("User #" + received + " has no id");
+            }
+            batch.put(user.id(), user);
+            if (batch.size() == batchSize) {
+                replaced += importBatch(batch);
+                stored += batch.size();
+                batches++;
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            replaced += importBatch(batch);
+            stored += batch.size();
+            batches++;
+        }
+
+        final long elapsedNanos = System.nanoTime() - start;
+        LOGGER.info("Imported {} users in {} batches", stored, batches);
+        // queued saves report no replaced user, whether they create or replace one is only known once flushed
+        final long queued = writeBehindProperties.isEnabled() ? stored : 0;
+        return new BulkImportResult(received, stored - replaced - queued, replaced, queued, received - stored,
+            batches, Duration.ofNanos(elapsedNanos).toMillis(),
+            elapsedNanos == 0 ? 0.0 : received * 1e9 / elapsedNanos);
+    }
+
     /**
-     * Clears the entire "users" cache and the simulated database.
+     * Clears the entire "users" cache and the store.
      *
-     * @CacheEvict(value = "users", allEntries = true) ensures all cached user objects are removed.
+     * @CacheEvict(value = "users", allEntries = true) ensures all cached user objects are removed, by default with
+     * incremental SCANs and UNLINKs rather than one blocking KEYS.
      */
     @CacheEvict(value = "users", allEntries = true)
     public void removeAllUsers()
     {
         LOGGER.info("Removing all users from database and cache");
-        USER_DATABASE.clear();
+        // the Bloom filter forgets exactly the users removed here
+        userRepository.deleteAllById(userRepository.findAllIds()).forEach(userIdBloomFilter::remove);
+    }
+
+    @Override
+    public Stream<User> streamUsers(final Long cursor)
+    {
+        LOGGER.debug("Streaming users after ID: {}", cursor);
+        final Iterator<User> users = new UserPageIterator(cursor == null ? Long.MIN_VALUE : cursor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(users,
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
     }
 
     public Map<Long, User> getAllUsers()
     {
         LOGGER.debug("Fetching all users from database");
-        return Map.copyOf(USER_DATABASE);
+        return userRepository.findAll();
+    }
+
+    /**
+     * Writes the user into the store, recording its ID in the Bloom filter first so that it is never rejected once
+     * stored. The ID of a user that already existed is recorded only once; in write-behind mode that is settled
+     * when the write is flushed.
+     */
+    private void storeUser(final User user)
+    {
+        userIdBloomFilter.put(user.id());
+        if (userRepository.save(user)) {
+            userIdBloomFilter.remove(user.id());
+        }
+    }
+
+    /**
+     * Writes a batch into the store and the cache, keeping the Bloom filter counts like {@link #storeUser(User)}.
+     *
+     * @return the number of users that replaced an existing one.
+     */
+    private int importBatch(final Map<Long, User> batch)
+    {
+        batch.keySet().forEach(userIdBloomFilter::put);
+        final Set<Long> replaced = userRepository.saveAll(batch.values());
+        replaced.forEach(userIdBloomFilter::remove);
+        cacheBatchOperations.putAll(USERS_CACHE, batch);
+        return replaced.size();
+    }
+
+    private void deleteUser(final Long id)
+    {
+        if (userRepository.deleteById(id)) {
+            userIdBloomFilter.remove(id);
+        }
+    }
+
+    /**
+     * Loads each user with its own store call, running at most {@code multiGetParallelism} calls at once.
+     */
+    private Map<Long, User> loadFromStoreConcurrently(final List<Long> ids)
+    {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        final Map<Long, User> loaded = new ConcurrentHashMap<>();
+        final Semaphore permits = new Semaphore(redisExtraProperties.getMultiGetParallelism());
+        // close() waits for every load to finish
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ids.forEach(id -> executor.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    simulateLatency();
+                    userRepository.findById(id).ifPresent(user -> loaded.put(id, user));
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        return loaded;
+    }
+
+    /**
+     * Reads the users one store page at a time, only when the previous page has been consumed.
+     */
+    private final class UserPageIterator implements Iterator<User>
+    {
+        private final int pageSize = redisExtraProperties.getStreamPageSize();
+        private Iterator<User> page = Collections.emptyIterator();
+        private long lastId;
+        private boolean lastPage;
+
+        private UserPageIterator(final long cursor)
+        {
+            this.lastId = cursor;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (!page.hasNext() && !lastPage) {
+                simulateLatency(); // one round trip per page
+                final List<User> users = userRepository.findPageAfter(lastId, pageSize);
+                lastPage = users.size() < pageSize;
+                if (!users.isEmpty()) {
+                    lastId = users.get(users.size() - 1).id();
+                }
+                page = users.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public User next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
     }
 
     private void simulateLatency()
     {
+        final Duration latency = storeProperties.getSimulatedLatency();
+        if (latency.isZero()) {
+            return;
+        }
         try {
-            Thread.sleep(Duration.ofMillis(500));
+            Thread.sleep(latency);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
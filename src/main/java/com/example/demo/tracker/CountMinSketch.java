@@ -0,0 +1,77 @@
+package com.example.demo.tracker;
+
+import com.example.demo.filter.IdHashing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Count-Min Sketch of user access counts: a fixed {@code depth x width} matrix of counters, whatever the number of
+ * distinct users.
+ * <p>
+ * Each user ID maps to one counter per row. The estimate of a count is the smallest of its counters, which never
+ * underestimates and overestimates by at most about {@code e / width} of all counted accesses with probability
+ * {@code 1 - e^-depth}. Counters are updated with atomic increments only, so recording never blocks.
+ * </p>
+ */
+class CountMinSketch
+{
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(final int width, final int depth)
+    {
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(Math.multiplyExact(width, depth));
+    }
+
+    /**
+     * Counts one access to the given user.
+     *
+     * @param userId the user ID.
+     * @return the estimated count of the user, including this access.
+     */
+    long add(final long userId)
+    {
+        final long h1 = IdHashing.firstHash(userId);
+        final long h2 = IdHashing.secondHash(userId);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(h1, h2, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param userId the user ID.
+     * @return the estimated count of the user.
+     */
+    long estimate(final long userId)
+    {
+        final long h1 = IdHashing.firstHash(userId);
+        final long h2 = IdHashing.secondHash(userId);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(h1, h2, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so that old accesses weigh less than recent ones. Increments racing with it may be
+     * halved or not, which is acceptable for a popularity ranking.
+     */
+    void halve()
+    {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    // Row r uses its own derived hash of the ID.
+    private int index(final long h1, final long h2, final int row)
+    {
+        return row * width + IdHashing.index(h1, h2, row, width);
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.demo.tracker;
+
+import com.example.demo.properties.AccessTrackerProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link UserAccessTracker} keeping the access counts in Redis, the default.
+ * <p>
+ * Accesses are counted in one sorted set per time bucket ({@code {hotUsers}:<bucket>}), each of which expires at a
+ * fixed instant once it has left the ranking window. {@link #getTopHotUsers(int)} merges the buckets of the window
+ * with {@code ZUNIONSTORE}, weighting each bucket by an exponential decay of its age, so the ranking reflects who is
+ * hot right now and fades out gradually when traffic pauses. The hash tag keeps all buckets in one cluster slot.
+ * </p>
+ * <p>
+ * By default every access is written to Redis straight away. In buffered mode accesses are only counted in memory
+ * (one {@link LongAdder} per user, so concurrent requests never contend on a lock or wait for Redis) and
+ * {@link #flush()} periodically sends the aggregated counts as one pipelined batch of {@code ZINCRBY}s followed by
+ * a single {@code EXPIREAT}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "redis.spring.demo.tracker", name = "type", havingValue = "redis", matchIfMissing = true)
+public class RedisUserAccessTracker implements UserAccessTracker
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisUserAccessTracker.class);
+    private static final String HOT_USERS_KEY_PREFIX = "{hotUsers}:";
+    private static final String RANKING_KEY_PREFIX = HOT_USERS_KEY_PREFIX + "ranking:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AccessTrackerProperties trackerProperties;
+    private final Clock clock;
+    private final ConcurrentHashMap<Long, LongAdder> pendingAccesses = new ConcurrentHashMap<>();
+    private final LongAdder droppedAccesses = new LongAdder();
+
+    @Autowired
+    public RedisUserAccessTracker(final RedisTemplate<String, String> redisTemplate,
+                                  final AccessTrackerProperties trackerProperties)
+    {
+        this(redisTemplate, trackerProperties, Clock.systemUTC());
+    }
+
+    RedisUserAccessTracker(final RedisTemplate<String, String> redisTemplate,
+                           final AccessTrackerProperties trackerProperties, final Clock clock)
+    {
+        this.redisTemplate = redisTemplate;
+        this.trackerProperties = trackerProperties;
+        this.clock = clock;
+    }
+
+    @Override
+    public void recordAccess(Long userId)
+    {
+        if (trackerProperties.isBuffered()) {
+            bufferAccess(userId);
+            return;
+        }
+        final long bucket = currentBucket();
+        final String key = bucketKey(bucket);
+        redisTemplate.opsForZSet().incrementScore(key, String.valueOf(userId), 1);
+        // The bucket expires at a fixed instant, later accesses do not push it back.
+        redisTemplate.expireAt(key, bucketExpiry(bucket));
+    }
+
+    /**
+     * Records the accesses with one pipelined batch of {@code ZINCRBY}s and a single {@code EXPIREAT}, or buffers them
+     * in buffered mode.
+     */
+    @Override
+    public void recordAccesses(final Collection<Long> userIds)
+    {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (trackerProperties.isBuffered()) {
+            userIds.forEach(this::bufferAccess);
+            return;
+        }
+        final long bucket = currentBucket();
+        final byte[] key = bucketKey(bucket).getBytes(StandardCharsets.UTF_8);
+        final long expiry = bucketExpiry(bucket).getEpochSecond();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            userIds.forEach(userId -> connection.zSetCommands()
+                .zIncrBy(key, 1, String.valueOf(userId).getBytes(StandardCharsets.UTF_8)));
+            connection.keyCommands().expireAt(key, expiry);
+            return null;
+        });
+    }
+
+    @Override
+    public Set<Long> getTopHotUsers(int topN)
+    {
+        final long bucketMillis = trackerProperties.getBucketSize().toMillis();
+        final long halfLifeMillis = trackerProperties.getDecayHalfLife().toMillis();
+        final long currentBucket = currentBucket();
+
+        final List<String> keys = new ArrayList<>();
+        final double[] weights = new double[bucketsInWindow()];
+        for (int age = 0; age < weights.length; age++) {
+            keys.add(bucketKey(currentBucket - age));
+            weights[age] = Math.pow(0.5, (double) age * bucketMillis / halfLifeMillis);
+        }
+
+        // Unique per call, so concurrent rankings from several instances never overwrite each other.
+        final String rankingKey = RANKING_KEY_PREFIX + UUID.randomUUID();
+        try {
+            redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()), rankingKey,
+                Aggregate.SUM, Weights.of(weights));
+            // Get top N users by decayed score descending
+            return redisTemplate.opsForZSet()
+                .reverseRange(rankingKey, 0, topN - 1)
+                .stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        } finally {
+            redisTemplate.delete(rankingKey);
+        }
+    }
+
+    /**
+     * Sends the buffered access counts to Redis in one pipelined round trip.
+     * <p>
+     * Counts are taken with {@link LongAdder#sumThenReset()}; users without new accesses since the previous flush
+     * are dropped from the buffer. An increment racing with that removal may be lost, which is acceptable for a
+     * popularity ranking. If Redis cannot be reached the counts are put back and retried on the next flush.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "#{accessTrackerProperties.flushInterval.toMillis()}")
+    public void flush()
+    {
+        final long dropped = droppedAccesses.sumThenReset();
+        if (dropped > 0) {
+            LOGGER.warn("Dropped {} user accesses because the tracking buffer was full", dropped);
+        }
+        if (pendingAccesses.isEmpty()) {
+            return;
+        }
+
+        final Map<Long, Long> batch = new HashMap<>();
+        pendingAccesses.forEach((userId, counter) -> {
+            final long count = counter.sumThenReset();
+            if (count > 0) {
+                batch.put(userId, count);
+            } else {
+                pendingAccesses.remove(userId, counter);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            final long bucket = currentBucket();
+            final byte[] key = bucketKey(bucket).getBytes(StandardCharsets.UTF_8);
+            final long expiry = bucketExpiry(bucket).getEpochSecond();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                batch.forEach((userId, count) -> connection.zSetCommands()
+                    .zIncrBy(key, count, String.valueOf(userId).getBytes(StandardCharsets.UTF_8)));
+                connection.keyCommands().expireAt(key, expiry);
+                return null;
+            });
+            LOGGER.debug("Flushed accesses of {} users", batch.size());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to flush accesses of {} users, retrying on next flush", batch.size(), e);
+            batch.forEach((userId, count) -> pendingAccesses.computeIfAbsent(userId, id -> new LongAdder()).add(count));
+        }
+    }
+
+    /**
+     * Flushes whatever is still buffered before the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown()
+    {
+        if (trackerProperties.isBuffered()) {
+            LOGGER.info("Flushing buffered user accesses on shutdown");
+            flush();
+        }
+    }
+
+    private void bufferAccess(final Long userId)
+    {
+        LongAdder counter = pendingAccesses.get(userId);
+        if (counter == null) {
+            if (pendingAccesses.size() >= trackerProperties.getMaxBufferSize()) {
+                droppedAccesses.increment();
+                return;
+            }
+            counter = pendingAccesses.computeIfAbsent(userId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private long currentBucket()
+    {
+        return clock.millis() / trackerProperties.getBucketSize().toMillis();
+    }
+
+    private int bucketsInWindow()
+    {
+        final long buckets = trackerProperties.getWindow().toMillis() / trackerProperties.getBucketSize().toMillis();
+        return (int) Math.max(1, buckets);
+    }
+
+    /**
+     * A bucket is needed for as long as it is part of the window, i.e. until the window has moved past its end.
+     */
+    private Instant bucketExpiry(final long bucket)
+    {
+        final long bucketMillis = trackerProperties.getBucketSize().toMillis();
+        return Instant.ofEpochMilli((bucket + 1 + bucketsInWindow()) * bucketMillis);
+    }
+
+    static String bucketKey(final long bucket)
+    {
+        return HOT_USERS_KEY_PREFIX + bucket;
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.demo.tracker;
+
+import com.example.demo.properties.AccessTrackerProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link UserAccessTracker} counting accesses in memory, for any number of distinct users.
+ * <p>
+ * Every access increments a {@link CountMinSketch} of fixed size; the {@code top-k} users with the highest estimates
+ * are kept as this node's heavy hitters. Recording an access never touches the network: a member of the heavy
+ * hitters only has its estimate updated, and other users are only admitted, under a lock, once their estimate beats
+ * the smallest one of a full set. All counts are halved every {@code decay-half-life}, so the ranking follows what is
+ * hot right now.
+ * </p>
+ * <p>
+ * Every {@code publish-interval} each node replaces its published heavy hitters ({@code {hotUsers}:sketch:node:<id>})
+ * with a fresh snapshot and registers itself in {@code {hotUsers}:sketch:nodes}. {@link #getTopHotUsers(int)} sums the
+ * heavy hitters of all nodes that published recently with {@code ZUNIONSTORE}. Nodes that stop publishing drop out
+ * of the ranking and their keys expire, so Redis holds at most {@code top-k} users per live node.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "redis.spring.demo.tracker", name = "type", havingValue = "sketch")
+public class SketchUserAccessTracker implements UserAccessTracker
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(SketchUserAccessTracker.class);
+    private static final String NODES_KEY = "{hotUsers}:sketch:nodes";
+    private static final String NODE_KEY_PREFIX = "{hotUsers}:sketch:node:";
+    private static final String RANKING_KEY_PREFIX = "{hotUsers}:ranking:";
+    // A node missing this many publications in a row is considered gone.
+    private static final int MISSED_PUBLICATIONS = 3;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AccessTrackerProperties trackerProperties;
+    private final Clock clock;
+    private final String nodeId;
+    private final CountMinSketch sketch;
+    private final ConcurrentHashMap<Long, Long> heavyHitters = new ConcurrentHashMap<>();
+    // Smallest estimate among the heavy hitters once they are full; stale values only cost a useless admit().
+    private volatile long admissionThreshold;
+
+    @Autowired
+    public SketchUserAccessTracker(final RedisTemplate<String, String> redisTemplate,
+                                   final AccessTrackerProperties trackerProperties)
+    {
+        this(redisTemplate, trackerProperties, Clock.systemUTC(), UUID.randomUUID().toString());
+    }
+
+    SketchUserAccessTracker(final RedisTemplate<String, String> redisTemplate,
+                            final AccessTrackerProperties trackerProperties, final Clock clock, final String nodeId)
+    {
+        this.redisTemplate = redisTemplate;
+        this.trackerProperties = trackerProperties;
+        this.clock = clock;
+        this.nodeId = nodeId;
+        this.sketch = new CountMinSketch(trackerProperties.getSketchWidth(), trackerProperties.getSketchDepth());
+    }
+
+    @Override
+    public void recordAccess(final Long userId)
+    {
+        final long estimate = sketch.add(userId);
+        if (heavyHitters.computeIfPresent(userId, (id, previous) -> estimate) != null) {
+            return;
+        }
+        if (heavyHitters.size() >= trackerProperties.getTopK() && estimate <= admissionThreshold) {
+            return;
+        }
+        admit(userId, estimate);
+    }
+
+    /**
+     * Sums the heavy hitters published by every live node, falling back to this node's own heavy hitters when none
+     * were published yet or Redis cannot be reached.
+     */
+    @Override
+    public Set<Long> getTopHotUsers(final int topN)
+    {
+        try {
+            final Set<String> nodes = redisTemplate.opsForZSet()
+                .rangeByScore(NODES_KEY, clock.millis() - nodeTimeoutMillis(), Double.POSITIVE_INFINITY);
+            if (nodes == null || nodes.isEmpty()) {
+                return getLocalTopHotUsers(topN);
+            }
+            return mergePublishedHeavyHitters(nodes.stream().map(SketchUserAccessTracker::nodeKey).toList(), topN);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to merge the published heavy hitters, ranking the accesses of this node only", e);
+            return getLocalTopHotUsers(topN);
+        }
+    }
+
+    /**
+     * @param topN the maximum number of users to return.
+     * @return the IDs of this node's hottest users, hottest first.
+     */
+    Set<Long> getLocalTopHotUsers(final int topN)
+    {
+        return heavyHitters.entrySet().stream()
+            .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+            .limit(topN)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private Set<Long> mergePublishedHeavyHitters(final List<String> keys, final int topN)
+    {
+        // Unique per call, so concurrent rankings from several instances never overwrite each other.
+        final String rankingKey = RANKING_KEY_PREFIX + UUID.randomUUID();
+        try {
+            redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()), rankingKey,
+                Aggregate.SUM);
+            return redisTemplate.opsForZSet()
+                .reverseRange(rankingKey, 0, topN - 1)
+                .stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        } finally {
+            redisTemplate.delete(rankingKey);
+        }
+    }
+
+    /**
+     * Replaces this node's published heavy hitters with a snapshot of the current ones in one pipelined round trip.
+     * The snapshot is written to a temporary key renamed over the published one, so readers never see it half
+     * written.
+     */
+    @Scheduled(fixedDelayString = "#{accessTrackerProperties.publishInterval.toMillis()}")
+    public void publish()
+    {
+        final Map<Long, Long> snapshot = Map.copyOf(heavyHitters);
+        final byte[] nodeKey = bytes(nodeKey(nodeId));
+        final byte[] tempKey = bytes(nodeKey(nodeId) + ":tmp");
+        final byte[] nodesKey = bytes(NODES_KEY);
+        final long now = clock.millis();
+        final long timeoutMillis = nodeTimeoutMillis();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                if (snapshot.isEmpty()) {
+                    connection.keyCommands().del(nodeKey);
+                } else {
+                    final Set<Tuple> tuples = snapshot.entrySet().stream()
+                        .map(entry -> Tuple.of(bytes(String.valueOf(entry.getKey())), (double) entry.getValue()))
+                        .collect(Collectors.toSet());
+                    connection.keyCommands().del(tempKey);
+                    connection.zSetCommands().zAdd(tempKey, tuples);
+                    connection.keyCommands().pExpire(tempKey, timeoutMillis);
+                    connection.keyCommands().rename(tempKey, nodeKey);
+                }
+                connection.zSetCommands().zAdd(nodesKey, now, bytes(nodeId));
+                connection.zSetCommands().zRemRangeByScore(nodesKey, Double.NEGATIVE_INFINITY, now - timeoutMillis);
+                connection.keyCommands().pExpire(nodesKey, timeoutMillis);
+                return null;
+            });
+            LOGGER.debug("Published {} heavy hitters of node {}", snapshot.size(), nodeId);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to publish the heavy hitters of node {}, retrying on next publication", nodeId, e);
+        }
+    }
+
+    /**
+     * Halves all counts, so that an access weighs half as much in the ranking with every half-life that passes.
+     */
+    @Scheduled(fixedDelayString = "#{accessTrackerProperties.decayHalfLife.toMillis()}",
+        initialDelayString = "#{accessTrackerProperties.decayHalfLife.toMillis()}")
+    public void decay()
+    {
+        sketch.halve();
+        synchronized (heavyHitters) {
+            heavyHitters.replaceAll((userId, estimate) -> estimate >>> 1);
+            admissionThreshold = smallestHeavyHitter().map(Map.Entry::getValue).orElse(0L);
+        }
+    }
+
+    /**
+     * Withdraws this node from the ranking before the application shuts down.
+     */
+    @PreDestroy
+    public void unpublish()
+    {
+        try {
+            redisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+            redisTemplate.delete(nodeKey(nodeId));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to withdraw the heavy hitters of node {}, they expire on their own", nodeId, e);
+        }
+    }
+
+    private void admit(final Long userId, final long estimate)
+    {
+        synchronized (heavyHitters) {
+            if (heavyHitters.containsKey(userId)) {
+                heavyHitters.put(userId, estimate);
+                return;
+            }
+            if (heavyHitters.size() < trackerProperties.getTopK()) {
+                heavyHitters.put(userId, estimate);
+                if (heavyHitters.size() == trackerProperties.getTopK()) {
+                    admissionThreshold = smallestHeavyHitter().map(Map.Entry::getValue).orElse(0L);
+                }
+                return;
+            }
+            final Map.Entry<Long, Long> smallest = smallestHeavyHitter().orElseThrow();
+            if (estimate > smallest.getValue()) {
+                heavyHitters.remove(smallest.getKey());
+                heavyHitters.put(userId, estimate);
+            }
+            admissionThreshold = smallestHeavyHitter().map(Map.Entry::getValue).orElse(0L);
+        }
+    }
+
+    // A linear scan is fine: it only runs when a user beats the threshold, and the heavy hitters are few.
+    private Optional<Map.Entry<Long, Long>> smallestHeavyHitter()
+    {
+        return heavyHitters.entrySet().stream()
+            .min(Map.Entry.comparingByValue())
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue()));
+    }
+
+    private long nodeTimeoutMillis()
+    {
+        return MISSED_PUBLICATIONS * trackerProperties.getPublishInterval().toMillis();
+    }
+
+    static String nodeKey(final String nodeId)
+    {
+        return NODE_KEY_PREFIX + nodeId;
+    }
+
+    private static byte[] bytes(final String value)
+    {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
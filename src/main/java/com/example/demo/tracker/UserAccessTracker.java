@@ -1,37 +1,40 @@
 package com.example.demo.tracker;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
-import org.springframework.data.redis.core.RedisTemplate;
-
+import java.util.Collection;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * A tracker to find hot users.
+ * <p>
+ * The implementation is chosen with {@code redis.spring.demo.tracker.type}: {@code redis} (the default) counts every
+ * access in Redis sorted sets, {@code sketch} counts them in memory with a Count-Min Sketch and only shares each
+ * node's heavy hitters through Redis.
+ * </p>
  */
-@Component
-public class UserAccessTracker
+public interface UserAccessTracker
 {
-    private static final String HOT_USERS_KEY = "hotUsers";
-
-    @Autowired
-    private RedisTemplate<String, String> redisTemplate;
+    /**
+     * Records one access to the given user.
+     *
+     * @param userId the user ID.
+     */
+    void recordAccess(Long userId);
 
-    public void recordAccess(Long userId)
+    /**
+     * Records one access to each of the given users, by default one at a time.
+     *
+     * @param userIds the user IDs.
+     */
+    default void recordAccesses(Collection<Long> userIds)
     {
-        redisTemplate.opsForZSet().incrementScore(HOT_USERS_KEY, String.valueOf(userId), 1);
-        // Optional: set expiry so stale users are removed automatically
-        redisTemplate.expire(HOT_USERS_KEY, 1, java.util.concurrent.TimeUnit.HOURS);
+        userIds.forEach(this::recordAccess);
     }
 
-    public Set<Long> getTopHotUsers(int topN)
-    {
-        // Get top N users by score descending
-        return redisTemplate.opsForZSet()
-            .reverseRange(HOT_USERS_KEY, 0, topN - 1)
-            .stream()
-            .map(Long::valueOf)
-            .collect(Collectors.toSet());
-    }
+    /**
+     * Ranks the users by how often they were accessed recently.
+     *
+     * @param topN the maximum number of users to return.
+     * @return the IDs of the hottest users, hottest first.
+     */
+    Set<Long> getTopHotUsers(int topN);
 }
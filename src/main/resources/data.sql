@@ -0,0 +1,4 @@
+-- The two demo users, also seeded into the in-memory store
+MERGE INTO users (id, name, email, created_at) KEY (id) VALUES
+    (1, 'Alice', 'alice@example.com', TIMESTAMP WITH TIME ZONE '2025-10-06 00:00:00+00'),
+    (2, 'Bob', 'bob@example.com', TIMESTAMP WITH TIME ZONE '2025-10-06 00:05:00+00');
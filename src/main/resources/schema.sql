@@ -0,0 +1,7 @@
+-- Users of the JDBC store (redis.spring.demo.store.type=jdbc)
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT PRIMARY KEY,
+    name       VARCHAR(255),
+    email      VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE
+);
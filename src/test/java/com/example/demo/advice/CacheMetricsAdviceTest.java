@@ -7,6 +7,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
+import com.example.demo.properties.CacheMetricsProperties;
 import com.example.demo.service.CacheMetricsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,7 +46,7 @@ class CacheMetricsAdviceTest {
 
         @Bean
         public CacheMetricsAdvice cacheMetricsAdvice(CacheMetricsService service) {
-            return new CacheMetricsAdvice(service);
+            return new CacheMetricsAdvice(service, new CacheMetricsProperties());
         }
 
         @Bean
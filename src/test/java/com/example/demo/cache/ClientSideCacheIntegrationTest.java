@@ -0,0 +1,114 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.BaseIntegrationTest;
+import com.example.demo.model.ClientSideCacheStats;
+import com.example.demo.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Integration tests for {@link ClientSideCache} and {@link ClientTrackingConnection}, against a Redis server pushing
+ * the invalidations over RESP3.
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "redis.spring.demo.client-side-caching.enabled=true")
+@DisplayName("Client-Side Cache Integration Tests")
+@Testcontainers
+class ClientSideCacheIntegrationTest extends BaseIntegrationTest {
+
+    private static final User ALICE = new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+    private static final User BOB = new User(2L, "Bob", "bob@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ClientTrackingConnection trackingConnection;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private WebTestClient webClient;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        await(trackingConnection::isTracking);
+        cache = cacheManager.getCache("users");
+        cache.clear();
+    }
+
+    @Test
+    @DisplayName("Repeated reads of an entry should be served from local memory.")
+    void repeatedReadsShouldBeServedLocally() {
+        // GIVEN a key no other test reads, so that no late invalidation drops it
+        cache.put(2L, BOB);
+        final ClientSideCacheStats before = trackingConnection.getStats();
+
+        // WHEN
+        final User first = cache.get(2L, User.class);
+        final User second = cache.get(2L, User.class);
+
+        // THEN
+        assertThat(first).isEqualTo(BOB);
+        assertThat(second).isEqualTo(BOB);
+        final ClientSideCacheStats after = trackingConnection.getStats();
+        assertThat(after.localMisses() - before.localMisses()).isEqualTo(1);
+        assertThat(after.localHits() - before.localHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A key changed behind the cache's back should be invalidated by Redis.")
+    void keyChangedElsewhereShouldBeInvalidated() {
+        // GIVEN a locally cached entry
+        cache.put(1L, ALICE);
+        assertThat(cache.get(1L, User.class)).isEqualTo(ALICE);
+        final long invalidations = trackingConnection.getStats().invalidations();
+
+        // WHEN another client deletes the key
+        stringRedisTemplate.delete("users::1");
+
+        // THEN
+        await(() -> cache.get(1L) == null);
+        assertThat(trackingConnection.getStats().invalidations()).isGreaterThan(invalidations);
+    }
+
+    @Test
+    @DisplayName("The metrics endpoint should expose the client-side cache state.")
+    void statsShouldBeExposed() {
+        webClient.get()
+            .uri("/api/metrics/client-side-cache")
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectBody(ClientSideCacheStats.class)
+            .value(stats -> assertThat(stats.tracking()).isTrue());
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link EarlyExpirationCache} and {@link CacheEntryTtlFunction}.
+ */
+class EarlyExpirationCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-06T00:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private ConcurrentMapCache delegate;
+    private double randomValue;
+    private EarlyExpirationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("users", false);
+        cache = new EarlyExpirationCache(delegate, TTL, TtlJitter.NONE, 1.0, Clock.fixed(NOW, ZoneOffset.UTC), () -> randomValue);
+    }
+
+    @Test
+    @DisplayName("A miss should load once and store the value with its compute time and expiry.")
+    void missShouldStoreEnvelope() {
+        // WHEN
+        final String value = cache.get(1L, () -> "Alice");
+
+        // THEN
+        assertThat(value).isEqualTo("Alice");
+        final CacheEntry entry = (CacheEntry) delegate.get(1L).get();
+        assertThat(entry.value()).isEqualTo("Alice");
+        assertThat(entry.expiresAt()).isEqualTo(NOW.plus(TTL).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("An entry far from its expiry should be served without recomputation.")
+    void entryFarFromExpiryShouldNotBeRecomputed() {
+        // GIVEN an entry that took 500 ms to compute and expires in 5 minutes, with a very unlucky draw
+        delegate.put(1L, new CacheEntry("Alice", 500, NOW.plus(Duration.ofMinutes(5)).toEpochMilli()));
+        randomValue = 0.999;
+        final AtomicInteger loads = new AtomicInteger();
+
+        // WHEN
+        final String value = cache.get(1L, () -> "Alice v" + loads.incrementAndGet());
+
+        // THEN: 500 ms * -ln(0.001) is about 3.5 s, far below 5 minutes
+        assertThat(value).isEqualTo("Alice");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("An entry close to its expiry should be recomputed by a reader with a high enough draw.")
+    void entryCloseToExpiryShouldBeRecomputedEarly() {
+        // GIVEN an entry that took 500 ms to compute and expires in 1 second
+        delegate.put(1L, new CacheEntry("Alice", 500, NOW.plusSeconds(1).toEpochMilli()));
+
+        // WHEN a low draw: 500 ms * -ln(0.5) is about 350 ms, before the expiry
+        randomValue = 0.5;
+        final String kept = cache.get(1L, () -> "Alice v2");
+        // WHEN a high draw: 500 ms * -ln(0.1) is about 1.15 s, past the expiry
+        randomValue = 0.9;
+        final String recomputed = cache.get(1L, () -> "Alice v2");
+
+        // THEN
+        assertThat(kept).isEqualTo("Alice");
+        assertThat(recomputed).isEqualTo("Alice v2");
+        assertThat(((CacheEntry) delegate.get(1L).get()).value()).isEqualTo("Alice v2");
+    }
+
+    @Test
+    @DisplayName("An early recomputation finding nothing should replace the entry with a negative one.")
+    void earlyRecomputationOfRemovedValueShouldStoreNegativeEntry() {
+        // GIVEN an entry due for early recomputation, in a cache storing negative entries
+        final ConcurrentMapCache nullableDelegate = new ConcurrentMapCache("users", true);
+        nullableDelegate.put(1L, new CacheEntry("Alice", 500, NOW.plusSeconds(1).toEpochMilli()));
+        randomValue = 0.9;
+        final EarlyExpirationCache nullableCache = new EarlyExpirationCache(nullableDelegate, TTL, TtlJitter.NONE, 1.0,
+            Clock.fixed(NOW, ZoneOffset.UTC), () -> randomValue);
+
+        // WHEN the user was deleted in the meantime
+        final String recomputed = nullableCache.get(1L, () -> null);
+
+        // THEN
+        assertThat(recomputed).isNull();
+        assertThat(nullableDelegate.get(1L)).isNotNull().extracting(Cache.ValueWrapper::get).isNull();
+        assertThat(nullableCache.get(1L, () -> "Alice v2")).isNull();
+    }
+
+    @Test
+    @DisplayName("A plain get of an entry due for early recomputation should report a miss.")
+    void plainGetShouldReportMissWhenDue() {
+        // GIVEN
+        delegate.put(1L, new CacheEntry("Alice", 500, NOW.plusSeconds(1).toEpochMilli()));
+        randomValue = 0.9;
+
+        // WHEN, THEN
+        assertThat(cache.get(1L)).isNull();
+        randomValue = 0.0;
+        assertThat(cache.get(1L, String.class)).isEqualTo("Alice");
+    }
+
+    @Test
+    @DisplayName("Values written without an envelope should be plain hits and put values should be wrapped.")
+    void plainValuesShouldBeHitsAndPutsWrapped() {
+        // GIVEN
+        delegate.put(1L, "Alice");
+
+        // WHEN
+        cache.put(2L, "Bob");
+
+        // THEN
+        assertThat(cache.get(1L, () -> "ignored")).isEqualTo("Alice");
+        assertThat(delegate.get(2L).get()).isInstanceOf(CacheEntry.class);
+        assertThat(cache.get(2L, String.class)).isEqualTo("Bob");
+    }
+
+    @Test
+    @DisplayName("The TTL function should follow the envelope expiry and fall back to the default or negative TTL.")
+    void ttlFunctionShouldFollowEnvelope() {
+        // GIVEN
+        final CacheEntryTtlFunction ttlFunction = new CacheEntryTtlFunction(TTL, Duration.ofSeconds(30),
+            TtlJitter.NONE, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // WHEN, THEN
+        assertThat(ttlFunction.getTimeToLive(1L, new CacheEntry("Alice", 0, NOW.plusSeconds(42).toEpochMilli())))
+            .isEqualTo(Duration.ofSeconds(42));
+        assertThat(ttlFunction.getTimeToLive(1L, new CacheEntry("Alice", 0, NOW.minusSeconds(1).toEpochMilli())))
+            .isEqualTo(Duration.ofMillis(1));
+        assertThat(ttlFunction.getTimeToLive(1L, "Alice")).isEqualTo(TTL);
+        assertThat(ttlFunction.getTimeToLive(1L, null)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(ttlFunction.getTimeToLive(1L, NullValue.INSTANCE)).isEqualTo(Duration.ofSeconds(30));
+    }
+}
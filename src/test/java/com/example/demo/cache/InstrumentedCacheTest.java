@@ -0,0 +1,111 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.model.CacheOperation;
+import com.example.demo.service.CacheMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit tests for {@link InstrumentedCache} and {@link DecoratingCacheManager}.
+ */
+class InstrumentedCacheTest {
+
+    private ConcurrentMapCache delegate;
+    private CacheMetricsService metricsService;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("users", false);
+        metricsService = mock(CacheMetricsService.class);
+        cache = new InstrumentedCache(delegate, metricsService);
+    }
+
+    @Test
+    @DisplayName("A value found by a loader should count as a miss and a load, not as a hit.")
+    void loadedValueShouldCountAsMissAndLoad() {
+        // WHEN
+        final String value = cache.get(1L, () -> "Alice");
+
+        // THEN
+        assertThat(value).isEqualTo("Alice");
+        verify(metricsService).incrementMissCount("users");
+        verify(metricsService).incrementLoadCount("users");
+        verify(metricsService, never()).incrementHitCount("users");
+        verify(metricsService).recordLatency(eq("users"), eq(CacheOperation.LOAD), anyLong());
+        verify(metricsService).recordLatency(eq("users"), eq(CacheOperation.GET), anyLong());
+    }
+
+    @Test
+    @DisplayName("A failing loader should still count as a miss and a load.")
+    void failedLoadShouldCountAsMissAndLoad() {
+        // WHEN, THEN
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("store down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+        verify(metricsService).incrementMissCount("users");
+        verify(metricsService).incrementLoadCount("users");
+        verify(metricsService, never()).incrementHitCount("users");
+        verify(metricsService).recordLatency(eq("users"), eq(CacheOperation.LOAD), anyLong());
+    }
+
+    @Test
+    @DisplayName("A value already cached should count as a hit without a load.")
+    void cachedValueShouldCountAsHit() {
+        // GIVEN
+        delegate.put(1L, "Alice");
+
+        // WHEN
+        final String value = cache.get(1L, () -> "ignored");
+
+        // THEN
+        assertThat(value).isEqualTo("Alice");
+        verify(metricsService).incrementHitCount("users");
+        verify(metricsService, never()).incrementLoadCount("users");
+        verify(metricsService, never()).recordLatency(eq("users"), eq(CacheOperation.LOAD), anyLong());
+    }
+
+    @Test
+    @DisplayName("Puts and evictions should be counted and puts timed.")
+    void putAndEvictShouldBeRecorded() {
+        // WHEN
+        cache.put(1L, "Alice");
+        cache.evict(1L);
+
+        // THEN
+        assertThat(delegate.get(1L)).isNull();
+        verify(metricsService).incrementPutCount("users");
+        verify(metricsService).recordLatency(eq("users"), eq(CacheOperation.PUT), anyLong());
+        verify(metricsService).incrementEvictionCount("users");
+    }
+
+    @Test
+    @DisplayName("The decorating manager should wrap each cache once and keep unknown caches unknown.")
+    void decoratingManagerShouldReuseDecoratedCaches() {
+        // GIVEN
+        final ConcurrentMapCacheManager redisCacheManager =
+            new ConcurrentMapCacheManager("users");
+        final DecoratingCacheManager cacheManager = new DecoratingCacheManager(redisCacheManager,
+            c -> new InstrumentedCache(c, metricsService));
+
+        // WHEN
+        final Cache first = cacheManager.getCache("users");
+        final Cache second = cacheManager.getCache("users");
+
+        // THEN
+        assertThat(first).isInstanceOf(InstrumentedCache.class).isSameAs(second);
+        assertThat(cacheManager.getCache("products")).isNull();
+    }
+}
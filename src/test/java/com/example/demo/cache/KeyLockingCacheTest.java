@@ -0,0 +1,102 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link KeyLockingCache}.
+ */
+class KeyLockingCacheTest {
+
+    private ConcurrentMapCache delegate;
+    private KeyLockingCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("users", true);
+        cache = new KeyLockingCache(delegate, 1_024);
+    }
+
+    @Test
+    @DisplayName("Misses of different keys should be loaded at the same time.")
+    void missesOfDifferentKeysShouldLoadConcurrently() throws Exception {
+        // GIVEN two loaders that only complete once both have started
+        final CountDownLatch bothLoading = new CountDownLatch(2);
+
+        // WHEN
+        final CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            bothLoading.countDown();
+            return bothLoading.await(2, TimeUnit.SECONDS);
+        }));
+        final CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> cache.get(2L, () -> {
+            bothLoading.countDown();
+            return bothLoading.await(2, TimeUnit.SECONDS);
+        }));
+
+        // THEN
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses of the same key should share one load.")
+    void missesOfSameKeyShouldLoadOnce() throws Exception {
+        // GIVEN
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loading.countDown();
+            Thread.sleep(200);
+            return "Alice v" + loads.incrementAndGet();
+        }));
+        assertThat(loading.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // WHEN
+        final String second = cache.get(1L, () -> "Alice v" + loads.incrementAndGet());
+
+        // THEN
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Alice v1");
+        assertThat(second).isEqualTo("Alice v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("A null value should be cached, so that the next read does not load it again.")
+    void nullValueShouldBeCached() {
+        // WHEN
+        final String first = cache.get(404L, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        final String second = cache.get(404L, () -> "loaded again");
+
+        // THEN
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(loads).hasValue(1);
+        assertThat(delegate.get(404L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("A failing load should be reported and leave nothing cached.")
+    void failingLoadShouldNotBeCached() {
+        // WHEN, THEN
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("store down");
+        }))
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(delegate.get(1L)).isNull();
+    }
+}
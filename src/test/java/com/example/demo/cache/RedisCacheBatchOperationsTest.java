@@ -0,0 +1,161 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link RedisCacheBatchOperations}.
+ */
+class RedisCacheBatchOperationsTest {
+
+    private StringRedisTemplate redisTemplate;
+    private TwoTierCacheManager twoTierCacheManager;
+    private RedisCacheManager redisCacheManager;
+
+    @BeforeEach
+    void setUp() {
+        final RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+            .entryTtl(Duration.ofMinutes(5))
+            .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()));
+        final RedisCache redisCache = mock(RedisCache.class);
+        when(redisCache.getCacheConfiguration()).thenReturn(config);
+
+        redisCacheManager = mock(RedisCacheManager.class);
+        when(redisCacheManager.getCache("users")).thenReturn(redisCache);
+        redisTemplate = mock(StringRedisTemplate.class);
+        twoTierCacheManager = mock(TwoTierCacheManager.class);
+    }
+
+    @Test
+    @DisplayName("putAll should write every entry with SET PX in a single pipeline and invalidate near caches.")
+    @SuppressWarnings("unchecked")
+    void putAllShouldPipelineSetWithTtl() {
+        // GIVEN
+        final RedisCacheBatchOperations batchOperations =
+            new RedisCacheBatchOperations(redisCacheManager, twoTierCacheManager, redisTemplate);
+        final Map<Long, String> entries = Map.of(1L, "Alice", 2L, "Bob");
+
+        // WHEN
+        batchOperations.putAll("users", entries);
+
+        // THEN
+        final ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        callback.getValue().doInRedis(connection);
+
+        verify(stringCommands).set(bytes("users::1"), bytes("Alice"), Expiration.milliseconds(300_000),
+            RedisStringCommands.SetOption.upsert());
+        verify(stringCommands).set(bytes("users::2"), bytes("Bob"), Expiration.milliseconds(300_000),
+            RedisStringCommands.SetOption.upsert());
+        final ArgumentCaptor<Collection<Object>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(twoTierCacheManager).invalidate(eq("users"), keys.capture());
+        assertThat(keys.getValue())
+            .containsExactlyInAnyOrderElementsOf(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("getAll should read every key with one MGET and return only the hits.")
+    @SuppressWarnings("unchecked")
+    void getAllShouldUseSingleMget() {
+        // GIVEN
+        final RedisCacheBatchOperations batchOperations =
+            new RedisCacheBatchOperations(redisCacheManager, redisCacheManager, redisTemplate);
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringCommands.mGet(bytes("users::1"), bytes("users::2"), bytes("users::3")))
+            .thenReturn(Arrays.asList(bytes("Alice"), null, bytes("Carol")));
+        when(redisTemplate.execute(any(RedisCallback.class)))
+            .thenAnswer(invocation -> ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+
+        // WHEN
+        final Map<Object, Object> hits = batchOperations.getAll("users", List.of(1L, 2L, 3L));
+
+        // THEN
+        assertThat(hits).containsOnly(entry(1L, "Alice"), entry(3L, "Carol"));
+        verify(stringCommands, times(1)).mGet(any(byte[][].class));
+    }
+
+    @Test
+    @DisplayName("Negative entries should be written like RedisCache does and read back as null values.")
+    @SuppressWarnings("unchecked")
+    void negativeEntriesShouldRoundTripAsNull() {
+        // GIVEN
+        final RedisCacheBatchOperations batchOperations =
+            new RedisCacheBatchOperations(redisCacheManager, redisCacheManager, redisTemplate);
+        final byte[] nullValue = RedisSerializer.java().serialize(NullValue.INSTANCE);
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringCommands.mGet(bytes("users::1"), bytes("users::404")))
+            .thenReturn(Arrays.asList(bytes("Alice"), nullValue));
+        when(redisTemplate.execute(any(RedisCallback.class)))
+            .thenAnswer(invocation -> ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+        final Map<Long, String> entries = new HashMap<>();
+        entries.put(404L, null);
+
+        // WHEN
+        batchOperations.putAll("users", entries);
+        final Map<Object, Object> hits = batchOperations.getAll("users", List.of(1L, 404L));
+
+        // THEN
+        final ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+        callback.getValue().doInRedis(connection);
+        verify(stringCommands).set(bytes("users::404"), nullValue, Expiration.milliseconds(300_000),
+            RedisStringCommands.SetOption.upsert());
+        assertThat(hits).containsOnly(entry(1L, "Alice"), entry(404L, null));
+    }
+
+    @Test
+    @DisplayName("putAll with no entries should not touch Redis.")
+    void putAllShouldSkipEmptyBatches() {
+        // GIVEN
+        final RedisCacheBatchOperations batchOperations =
+            new RedisCacheBatchOperations(redisCacheManager, redisCacheManager, redisTemplate);
+        // WHEN
+        batchOperations.putAll("users", Map.of());
+        // THEN
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
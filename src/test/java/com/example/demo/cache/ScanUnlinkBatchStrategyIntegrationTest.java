@@ -0,0 +1,112 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.BaseIntegrationTest;
+import com.example.demo.model.CacheClearStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Integration tests for {@link ScanUnlinkBatchStrategy}, clearing a cache of a few thousand keys in batches.
+ */
+@Tag("integration")
+@SpringBootTest
+@DisplayName("Scan/Unlink Batch Strategy Integration Tests")
+@Testcontainers
+class ScanUnlinkBatchStrategyIntegrationTest extends BaseIntegrationTest {
+
+    private static final int KEYS = 2_500;
+    private static final byte[] PATTERN = "clear-test::*".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            entries.put("clear-test::" + i, "value-" + i);
+        }
+        stringRedisTemplate.opsForValue().multiSet(entries);
+        stringRedisTemplate.opsForValue().set("clear-other::1", "kept");
+    }
+
+    @Test
+    @DisplayName("A clear should delete every key of the cache in batches, and no other key.")
+    void clearShouldUnlinkInBatches() {
+        // GIVEN
+        try (ScanUnlinkBatchStrategy strategy = new ScanUnlinkBatchStrategy(connectionFactory, 100, false);
+             RedisConnection connection = connectionFactory.getConnection()) {
+
+            // WHEN
+            final long deleted = strategy.cleanCache(connection, "clear-test", PATTERN);
+
+            // THEN
+            assertThat(deleted).isEqualTo(KEYS);
+            assertThat(stringRedisTemplate.keys("clear-test::*")).isEmpty();
+            assertThat(stringRedisTemplate.opsForValue().get("clear-other::1")).isEqualTo("kept");
+            assertThat(strategy.getStatus("clear-test")).hasValueSatisfying(status -> {
+                assertThat(status.state()).isEqualTo(CacheClearStatus.State.COMPLETED);
+                assertThat(status.keysUnlinked()).isEqualTo(KEYS);
+                assertThat(status.batches()).isGreaterThanOrEqualTo(KEYS / 100);
+                assertThat(status.error()).isNull();
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("An asynchronous clear should return at once and complete in the background.")
+    void asyncClearShouldCompleteInBackground() {
+        // GIVEN
+        try (ScanUnlinkBatchStrategy strategy = new ScanUnlinkBatchStrategy(connectionFactory, 100, true);
+             RedisConnection connection = connectionFactory.getConnection()) {
+
+            // WHEN
+            final long deleted = strategy.cleanCache(connection, "clear-test", PATTERN);
+
+            // THEN
+            assertThat(deleted).isZero();
+            await(() -> strategy.getStatus("clear-test")
+                .map(status -> status.state() == CacheClearStatus.State.COMPLETED)
+                .orElse(false));
+            assertThat(strategy.getStatus("clear-test")).map(CacheClearStatus::keysUnlinked).contains((long) KEYS);
+            assertThat(stringRedisTemplate.keys("clear-test::*")).isEmpty();
+            assertThat(stringRedisTemplate.opsForValue().get("clear-other::1")).isEqualTo("kept");
+        }
+    }
+
+    @Test
+    @DisplayName("A cache never cleared should have no clear status.")
+    void neverClearedCacheShouldHaveNoStatus() {
+        try (ScanUnlinkBatchStrategy strategy = new ScanUnlinkBatchStrategy(connectionFactory, 100, false)) {
+            assertThat(strategy.getStatus("clear-test")).isEmpty();
+        }
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.demo.properties.SingleFlightProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link SingleFlightCache} and {@link SingleFlightCoordinator}.
+ */
+class SingleFlightCacheTest {
+
+    private ConcurrentMapCache delegate;
+    private SingleFlightCoordinator coordinator;
+    private SingleFlightProperties properties;
+    private SingleFlightCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("users", false);
+        coordinator = mock(SingleFlightCoordinator.class);
+        properties = new SingleFlightProperties();
+        properties.setWaitTimeout(Duration.ofMillis(300));
+        properties.setPollInterval(Duration.ofMillis(50));
+        cache = new SingleFlightCache(delegate, coordinator, properties);
+    }
+
+    @Test
+    @DisplayName("The lease holder should load the value, then release the lease and notify the waiters.")
+    void leaseHolderShouldLoadAndNotify() {
+        // GIVEN
+        when(coordinator.tryAcquire("users", "1")).thenReturn("token");
+
+        // WHEN
+        final String value = cache.get(1L, () -> "Alice v" + loads.incrementAndGet());
+
+        // THEN
+        assertThat(value).isEqualTo("Alice v1");
+        assertThat(delegate.get(1L).get()).isEqualTo("Alice v1");
+        verify(coordinator).releaseAndNotify("users", "1", "token");
+    }
+
+    @Test
+    @DisplayName("A reader without the lease should take the value loaded by another instance.")
+    void waiterShouldUseValueLoadedElsewhere() {
+        // GIVEN another instance holds the lease and stores the value while this one waits
+        when(coordinator.tryAcquire("users", "1")).thenReturn(null);
+        doAnswer(invocation -> {
+            delegate.put(1L, "Alice from elsewhere");
+            return null;
+        }).when(coordinator).awaitLoaded(eq("users"), eq("1"), any(Duration.class));
+
+        // WHEN
+        final String value = cache.get(1L, () -> "Alice v" + loads.incrementAndGet());
+
+        // THEN
+        assertThat(value).isEqualTo("Alice from elsewhere");
+        assertThat(loads).hasValue(0);
+        verify(coordinator, never()).releaseAndNotify(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("A reader should load the value itself once the wait timeout has passed.")
+    void waiterShouldFallBackAfterTimeout() {
+        // GIVEN
+        when(coordinator.tryAcquire("users", "1")).thenReturn(null);
+        doAnswer(invocation -> {
+            Thread.sleep(invocation.<Duration>getArgument(2).toMillis());
+            return null;
+        }).when(coordinator).awaitLoaded(eq("users"), eq("1"), any(Duration.class));
+
+        // WHEN
+        final String value = cache.get(1L, () -> "Alice v" + loads.incrementAndGet());
+
+        // THEN
+        assertThat(value).isEqualTo("Alice v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("A loaded notification from another instance should wake up the local waiters.")
+    void notificationShouldWakeUpWaiters() throws Exception {
+        // GIVEN
+        final SingleFlightCoordinator realCoordinator =
+            new SingleFlightCoordinator(mock(StringRedisTemplate.class), properties);
+        final CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> {
+            final long start = System.nanoTime();
+            realCoordinator.awaitLoaded("users", "1", Duration.ofSeconds(10));
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        });
+        final DefaultMessage loaded = new DefaultMessage(properties.getChannel().getBytes(StandardCharsets.UTF_8),
+            "users|1".getBytes(StandardCharsets.UTF_8));
+
+        // WHEN notified, repeatedly in case the waiter had not registered yet
+        for (int i = 0; i < 50 && !waited.isDone(); i++) {
+            Thread.sleep(20);
+            realCoordinator.onMessage(loaded, null);
+        }
+
+        // THEN
+        assertThat(waited.get(5, TimeUnit.SECONDS)).isLessThan(5_000L);
+        assertThat(realCoordinator.waitingKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Waiters giving up on the timeout should not be left behind once the last of them is gone.")
+    void timedOutWaitersShouldBeRemoved() {
+        // GIVEN
+        final SingleFlightCoordinator realCoordinator =
+            new SingleFlightCoordinator(mock(StringRedisTemplate.class), properties);
+
+        // WHEN two threads wait for a notification that never comes
+        final CompletableFuture<Void> first = CompletableFuture.runAsync(
+            () -> realCoordinator.awaitLoaded("users", "1", Duration.ofMillis(100)));
+        realCoordinator.awaitLoaded("users", "1", Duration.ofMillis(200));
+        first.join();
+
+        // THEN
+        assertThat(realCoordinator.waitingKeys()).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.executor.RefreshExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link StaleWhileRevalidateCache}.
+ */
+class StaleWhileRevalidateCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-06T00:00:00Z");
+    private static final Duration SOFT_TTL = Duration.ofMinutes(1);
+    private static final Duration HARD_TTL = Duration.ofMinutes(10);
+
+    private ConcurrentMapCache delegate;
+    private RefreshExecutor refreshExecutor;
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("users", false);
+        refreshExecutor = mock(RefreshExecutor.class);
+        doAnswer(invocation -> submitted.add(invocation.getArgument(1)))
+            .when(refreshExecutor).submit(any(), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("A miss should load and store an entry going stale after the soft TTL and expiring after the hard TTL.")
+    void missShouldStoreSoftAndHardExpiry() {
+        // GIVEN
+        final StaleWhileRevalidateCache cache = cacheAt(NOW);
+
+        // WHEN
+        final String value = cache.get(1L, () -> "Alice");
+
+        // THEN
+        assertThat(value).isEqualTo("Alice");
+        final CacheEntry entry = (CacheEntry) delegate.get(1L).get();
+        assertThat(entry.staleAt()).isEqualTo(NOW.plus(SOFT_TTL).toEpochMilli());
+        assertThat(entry.expiresAt()).isEqualTo(NOW.plus(HARD_TTL).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("A fresh entry should be served without any refresh.")
+    void freshEntryShouldNotBeRefreshed() {
+        // GIVEN
+        cacheAt(NOW).put(1L, "Alice");
+
+        // WHEN
+        final String value = cacheAt(NOW.plusSeconds(30)).get(1L, () -> "Alice v" + loads.incrementAndGet());
+
+        // THEN
+        assertThat(value).isEqualTo("Alice");
+        verify(refreshExecutor, never()).submit(any(), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("A stale entry should be served at once and refreshed in the background.")
+    void staleEntryShouldBeServedAndRefreshed() {
+        // GIVEN
+        cacheAt(NOW).put(1L, "Alice");
+        final StaleWhileRevalidateCache later = cacheAt(NOW.plus(Duration.ofMinutes(2)));
+
+        // WHEN
+        final String value = later.get(1L, () -> "Alice v" + loads.incrementAndGet());
+
+        // THEN the caller got the stale value without waiting for the load
+        assertThat(value).isEqualTo("Alice");
+        assertThat(loads).hasValue(0);
+        verify(refreshExecutor).submit(eq("users::1"), any(Runnable.class));
+
+        // WHEN the background refresh runs
+        submitted.forEach(Runnable::run);
+
+        // THEN
+        assertThat(later.get(1L, String.class)).isEqualTo("Alice v1");
+        assertThat(((CacheEntry) delegate.get(1L).get()).staleAt())
+            .isEqualTo(NOW.plus(Duration.ofMinutes(2)).plus(SOFT_TTL).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("A soft TTL not shorter than the hard TTL should be rejected.")
+    void softTtlShouldBeShorterThanHardTtl() {
+        assertThatThrownBy(() -> new StaleWhileRevalidateCache(delegate, refreshExecutor, HARD_TTL, HARD_TTL,
+            TtlJitter.NONE))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private StaleWhileRevalidateCache cacheAt(final Instant now) {
+        return new StaleWhileRevalidateCache(delegate, refreshExecutor, SOFT_TTL, HARD_TTL, TtlJitter.NONE,
+            Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.demo.properties.RedisExtraProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link TtlJitter} and the per-cache TTLs of {@link RedisExtraProperties}.
+ */
+class TtlJitterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Test
+    @DisplayName("Entries written together should get TTLs spread over the jitter window, never above the TTL.")
+    void jitterShouldSpreadTtlsWithinWindow() {
+        // GIVEN
+        final CacheEntryTtlFunction ttlFunction = new CacheEntryTtlFunction(TTL, Duration.ofSeconds(30), new TtlJitter(10));
+
+        // WHEN
+        final Set<Duration> ttls = IntStream.range(0, 1_000)
+            .mapToObj(i -> ttlFunction.getTimeToLive((long) i, "user " + i))
+            .collect(Collectors.toSet());
+
+        // THEN
+        assertThat(ttls).hasSizeGreaterThan(100)
+            .allSatisfy(ttl -> assertThat(ttl).isBetween(Duration.ofMinutes(9), TTL));
+    }
+
+    @Test
+    @DisplayName("The extremes of the random draw should map to the edges of the window.")
+    void jitterShouldMapDrawToWindow() {
+        assertThat(new TtlJitter(20, () -> 0.0).apply(TTL)).isEqualTo(TTL);
+        assertThat(new TtlJitter(20, () -> 1.0).apply(TTL)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(TtlJitter.NONE.apply(TTL)).isEqualTo(TTL);
+    }
+
+    @Test
+    @DisplayName("A jitter outside 0..100 percent should be rejected.")
+    void jitterShouldBeAPercentage() {
+        assertThatThrownBy(() -> new TtlJitter(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("A cache with its own TTL should use it, the others the default TTL.")
+    void perCacheTtlShouldOverrideDefault() {
+        // GIVEN
+        final RedisExtraProperties properties = new RedisExtraProperties();
+        properties.setTtl(TTL);
+        properties.setCacheTtls(Map.of("users", "30"));
+
+        // WHEN, THEN
+        assertThat(properties.getTtlFor("users")).isEqualTo(Duration.ofMinutes(30));
+        assertThat(properties.getTtlFor("products")).isEqualTo(TTL);
+    }
+
+    @Test
+    @DisplayName("A per-cache TTL without unit should be bound in minutes, one with a unit in that unit.")
+    void perCacheTtlShouldBindInMinutesByDefault() {
+        // GIVEN
+        final Binder binder = binder(Map.of(
+            "redis.spring.demo.cache-ttls.users", "10",
+            "redis.spring.demo.cache-ttls.products", "90s"));
+
+        // WHEN
+        final RedisExtraProperties properties = binder.bind("redis.spring.demo", RedisExtraProperties.class).get();
+
+        // THEN
+        assertThat(properties.getTtlFor("users")).isEqualTo(Duration.ofMinutes(10));
+        assertThat(properties.getTtlFor("products")).isEqualTo(Duration.ofSeconds(90));
+    }
+
+    @Test
+    @DisplayName("A zero per-cache TTL should be rejected when bound.")
+    void zeroPerCacheTtlShouldBeRejected() {
+        // GIVEN
+        final Binder binder = binder(Map.of("redis.spring.demo.cache-ttls.users", "0"));
+
+        // WHEN, THEN
+        assertThatThrownBy(() -> binder.bind("redis.spring.demo", RedisExtraProperties.class))
+            .isInstanceOf(BindException.class)
+            .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Binder binder(final Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.demo.properties.NearCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Unit tests for {@link TwoTierCache} and {@link TwoTierCacheManager}.
+ */
+class TwoTierCacheTest {
+
+    private static final String CHANNEL = "cache:near:invalidation";
+
+    private Cache redisCache;
+    private StringRedisTemplate redisTemplate;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = spy(new ConcurrentMapCache("users", false));
+        redisTemplate = mock(StringRedisTemplate.class);
+        final CacheManager redisCacheManager = mock(CacheManager.class);
+        when(redisCacheManager.getCache("users")).thenReturn(redisCache);
+
+        final NearCacheProperties properties = new NearCacheProperties();
+        properties.setEnabled(true);
+        properties.setInvalidationChannel(CHANNEL);
+        cacheManager = new TwoTierCacheManager(redisCacheManager, redisTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("Second read of an entry should be served from L1 without touching Redis.")
+    void getShouldServeRepeatedReadsFromLocalTier() {
+        // GIVEN
+        redisCache.put(1L, "Alice");
+        final Cache cache = cacheManager.getCache("users");
+
+        // WHEN
+        final String first = cache.get(1L, String.class);
+        final String second = cache.get(1L, String.class);
+
+        // THEN
+        assertThat(first).isEqualTo("Alice");
+        assertThat(second).isEqualTo("Alice");
+        verify(redisCache, times(1)).get(1L);
+    }
+
+    @Test
+    @DisplayName("A put should write through to Redis and broadcast an eviction for the key.")
+    void putShouldWriteThroughAndPublishEviction() {
+        // GIVEN
+        final Cache cache = cacheManager.getCache("users");
+        cache.get(1L);
+
+        // WHEN
+        cache.put(1L, "Alice v2");
+
+        // THEN
+        assertThat(redisCache.get(1L, String.class)).isEqualTo("Alice v2");
+        assertThat(cache.get(1L, String.class)).isEqualTo("Alice v2");
+        verify(redisTemplate).convertAndSend(CHANNEL, cacheManager.getInstanceId() + "|users|K|1");
+    }
+
+    @Test
+    @DisplayName("An eviction published by another instance should drop the local entry.")
+    void remoteEvictionShouldDropLocalEntry() {
+        // GIVEN
+        redisCache.put(1L, "Alice");
+        final TwoTierCache cache = (TwoTierCache) cacheManager.getCache("users");
+        cache.get(1L);
+        assertThat(cache.localSize()).isEqualTo(1);
+
+        // WHEN
+        cacheManager.onMessage(message("other-instance|users|K|1"), null);
+
+        // THEN
+        assertThat(cache.localSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("An eviction received while reading Redis should keep the value read out of L1.")
+    void evictionDuringRedisReadShouldSkipLocalFill() {
+        // GIVEN an eviction arriving between the Redis read and the L1 fill
+        redisCache.put(1L, "Alice");
+        final TwoTierCache cache = (TwoTierCache) cacheManager.getCache("users");
+        doAnswer(invocation -> {
+            final Object read = invocation.callRealMethod();
+            cacheManager.onMessage(message("other-instance|users|K|1"), null);
+            return read;
+        }).when(redisCache).get(1L);
+
+        // WHEN
+        final String value = cache.get(1L, String.class);
+
+        // THEN
+        assertThat(value).isEqualTo("Alice");
+        assertThat(cache.localSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Invalidations published by this instance should be ignored when received back.")
+    void ownInvalidationShouldBeIgnored() {
+        // GIVEN
+        redisCache.put(1L, "Alice");
+        final TwoTierCache cache = (TwoTierCache) cacheManager.getCache("users");
+        cache.get(1L);
+
+        // WHEN
+        cacheManager.onMessage(message(cacheManager.getInstanceId() + "|users|C"), null);
+
+        // THEN
+        assertThat(cache.localSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Bulk invalidation should drop local entries and broadcast one eviction per key.")
+    void invalidateShouldDropLocalEntriesAndPublish() {
+        // GIVEN
+        redisCache.put(1L, "Alice");
+        redisCache.put(2L, "Bob");
+        final TwoTierCache cache = (TwoTierCache) cacheManager.getCache("users");
+        cache.get(1L);
+        cache.get(2L);
+
+        // WHEN
+        cacheManager.invalidate("users", List.of(1L, 2L));
+
+        // THEN
+        assertThat(cache.localSize()).isZero();
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    private static DefaultMessage message(final String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.demo.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.example.demo.BaseIntegrationTest;
+import com.example.demo.model.CacheClearStatus;
 import com.example.demo.model.CacheMetricsResponse;
 import com.example.demo.service.CacheMetricsService;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -31,6 +33,9 @@ class MetricsControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private CacheMetricsService cacheMetricsService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setup()
     {
@@ -61,4 +66,38 @@ class MetricsControllerIntegrationTest extends BaseIntegrationTest {
         assertThat(metrics.total()).isEqualTo(3L);
         assertThat(metrics.hitRate()).isEqualTo("33%");
     }
+
+    @Test
+    @DisplayName("Should return the progress of the latest clear of a cache")
+    void testGetClearStatus_afterClear()
+    {
+        // GIVEN
+        cacheManager.getCache("users").put(1L, "Alice");
+        cacheManager.getCache("users").clear();
+
+        // WHEN
+        final EntityExchangeResult<CacheClearStatus> result = webClient.get()
+            .uri("/api/metrics/users/clear")
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectBody(CacheClearStatus.class)
+            .returnResult();
+
+        // THEN
+        final CacheClearStatus status = result.getResponseBody();
+        assertThat(status).isNotNull();
+        assertThat(status.cacheName()).isEqualTo("users");
+        assertThat(status.state()).isEqualTo(CacheClearStatus.State.COMPLETED);
+        assertThat(status.keysUnlinked()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should return 404 for a cache never cleared")
+    void testGetClearStatus_neverCleared()
+    {
+        webClient.get()
+            .uri("/api/metrics/never-cleared/clear")
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+    }
 }
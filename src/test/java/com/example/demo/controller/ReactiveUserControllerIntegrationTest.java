@@ -0,0 +1,85 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.BaseIntegrationTest;
+import com.example.demo.model.User;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests for {@link ReactiveUserController}, with the application running in reactive mode.
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+@DisplayName("Reactive User Controller Integration Tests")
+@Testcontainers
+class ReactiveUserControllerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("Should return a user by ID and share the cache entry with the blocking path")
+    void testGetUserById_successful() {
+        // GIVEN
+        cacheManager.getCache("users").clear();
+
+        // WHEN
+        EntityExchangeResult<User> result = webClient.get()
+            .uri("/api/users/1")
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectBody(User.class)
+            .returnResult();
+
+        // THEN
+        final User user = result.getResponseBody();
+        assertThat(user).isNotNull();
+        assertThat(user.name()).isEqualTo("Alice");
+        assertThat(user.createdAt()).isEqualTo(Instant.parse("2025-10-06T00:00:00Z"));
+        assertThat(cacheManager.getCache("users").get(1L, User.class)).isEqualTo(user);
+    }
+
+    @Test
+    @DisplayName("Should return an empty body for an unknown user")
+    void testGetUserById_unknown() {
+        webClient.get()
+            .uri("/api/users/999")
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return several users at once and skip unknown IDs")
+    void testGetUsersByIds_successful() {
+        // WHEN
+        EntityExchangeResult<List<User>> result = webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .path("/api/users")
+                .queryParam("ids", "2,1,999,2")
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectBodyList(User.class)
+            .returnResult();
+
+        // THEN
+        assertThat(result.getResponseBody()).extracting(User::id).containsExactly(2L, 1L);
+    }
+}
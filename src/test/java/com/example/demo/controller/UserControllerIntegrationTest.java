@@ -3,6 +3,7 @@ package com.example.demo.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.example.demo.BaseIntegrationTest;
+import com.example.demo.model.BulkImportResult;
 import com.example.demo.model.User;
 import com.example.demo.service.UserService;
 import java.time.Instant;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -83,4 +85,95 @@ class UserControllerIntegrationTest extends BaseIntegrationTest {
         assertThat(user.email()).isEqualTo("alice@example.com");
         assertThat(user.createdAt()).isEqualTo(Instant.parse("2025-10-06T00:00:00Z"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return several users at once and skip unknown IDs")
+    void testGetUsersByIds_successful() {
+        // WHEN
+        EntityExchangeResult<List<User>> result = webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .path("/api/users")
+                .queryParam("ids", "2,1,999,2")
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectBodyList(User.class)
+            .returnResult();
+
+        // THEN
+        final List<User> users = result.getResponseBody();
+        assertThat(users).isNotNull();
+        assertThat(users).extracting(User::id).containsExactly(2L, 1L);
+        assertThat(users).extracting(User::name).containsExactly("Bob", "Alice");
+    }
+
+    @Test
+    @DisplayName("Should stream the users after the cursor as NDJSON, in ID order")
+    void testStreamUsers_afterCursor() {
+        // WHEN
+        EntityExchangeResult<List<User>> result = webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .path("/api/users/stream")
+                .queryParam("cursor", 1)
+                .build())
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(User.class)
+            .returnResult();
+
+        // THEN
+        final List<User> users = result.getResponseBody();
+        assertThat(users).isNotNull();
+        assertThat(users).extracting(User::id).doesNotContain(1L).startsWith(2L).isSorted();
+        assertThat(users.get(0).name()).isEqualTo("Bob");
+    }
+
+    @Test
+    @DisplayName("Should import users sent as NDJSON and report the counts")
+    void testImportUsers_successful() {
+        // GIVEN
+        final String body = """
+            {"id":901,"name":"Oscar","email":"oscar@example.com","createdAt":"2025-10-06T00:30:00Z"}
+            {"id":902,"name":"Peggy","email":"peggy@example.com","createdAt":"2025-10-06T00:35:00Z"}
+            """;
+
+        // WHEN
+        EntityExchangeResult<BulkImportResult> result = webClient.post()
+            .uri("/api/users/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.OK)
+            .expectBody(BulkImportResult.class)
+            .returnResult();
+
+        // THEN
+        final BulkImportResult imported = result.getResponseBody();
+        assertThat(imported).isNotNull();
+        assertThat(imported.received()).isEqualTo(2);
+        assertThat(imported.created()).isEqualTo(2);
+        assertThat(userService.getUserById(902L).name()).isEqualTo("Peggy");
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed NDJSON line with its line number")
+    void testImportUsers_malformedLine() {
+        // GIVEN
+        final String body = """
+            {"id":903,"name":"Rupert","email":"rupert@example.com","createdAt":"2025-10-06T00:40:00Z"}
+            {"id":904,"name":
+            """;
+
+        // WHEN, THEN
+        webClient.post()
+            .uri("/api/users/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+            .expectBody(String.class)
+            .value(response -> assertThat(response).contains("4002").contains("line"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.model.RefreshExecutorStats;
+import com.example.demo.properties.RefreshExecutorProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link RefreshExecutor}.
+ */
+class RefreshExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private RefreshExecutor refreshExecutor;
+
+    @BeforeEach
+    void setUp() {
+        final RefreshExecutorProperties properties = new RefreshExecutorProperties();
+        properties.setMaxConcurrency(1);
+        properties.setQueueCapacity(1);
+        refreshExecutor = new RefreshExecutor(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        refreshExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("The refresh key of a cache entry should be made of the cache name and the entry key.")
+    void entryKeyShouldIdentifyCacheEntry() {
+        assertThat(RefreshExecutor.entryKey("users", 1L)).isEqualTo("users::1");
+        assertThat(RefreshExecutor.entryKey("users", 1L)).isNotEqualTo(RefreshExecutor.entryKey("products", 1L));
+    }
+
+    @Test
+    @DisplayName("A refresh for a key already in flight should be merged, not run twice.")
+    void submitShouldMergeDuplicateKeys() throws InterruptedException {
+        // GIVEN
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        refreshExecutor.submit(1L, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // WHEN
+        final boolean accepted = refreshExecutor.submit(1L, runs::incrementAndGet);
+
+        // THEN
+        assertThat(accepted).isFalse();
+        assertThat(refreshExecutor.getStats().merged()).isEqualTo(1L);
+        release.countDown();
+        refreshExecutor.shutdown();
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Refreshes beyond the concurrency limit and queue capacity should be rejected.")
+    void submitShouldRejectWhenQueueIsFull() throws InterruptedException {
+        // GIVEN
+        final CountDownLatch started = new CountDownLatch(1);
+        refreshExecutor.submit(1L, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        refreshExecutor.submit(2L, () -> { });
+
+        // WHEN
+        final boolean accepted = refreshExecutor.submit(3L, () -> { });
+
+        // THEN
+        final RefreshExecutorStats stats = refreshExecutor.getStats();
+        assertThat(accepted).isFalse();
+        assertThat(stats.activeRefreshes()).isEqualTo(1);
+        assertThat(stats.queueDepth()).isEqualTo(1);
+        assertThat(stats.rejected()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Refreshes should run on virtual threads.")
+    void submitShouldRunOnVirtualThreads() throws InterruptedException {
+        // GIVEN
+        final CountDownLatch done = new CountDownLatch(1);
+        final boolean[] virtual = new boolean[1];
+        // WHEN
+        refreshExecutor.submit(1L, () -> {
+            virtual[0] = Thread.currentThread().isVirtual();
+            done.countDown();
+        });
+        // THEN
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(virtual[0]).isTrue();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
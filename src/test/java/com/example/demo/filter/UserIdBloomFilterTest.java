@@ -0,0 +1,86 @@
+package com.example.demo.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.properties.BloomFilterProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Unit tests for {@link UserIdBloomFilter}.
+ */
+class UserIdBloomFilterTest {
+
+    private BloomFilterProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BloomFilterProperties();
+        properties.setExpectedInsertions(10_000);
+        properties.setFalsePositiveRate(0.01);
+    }
+
+    @Test
+    @DisplayName("Every ID put should be reported, and absent IDs only at about the configured false positive rate.")
+    void shouldHaveNoFalseNegativesAndFewFalsePositives() {
+        // GIVEN
+        final UserIdBloomFilter filter = new UserIdBloomFilter(properties);
+
+        // WHEN
+        LongStream.range(0, 10_000).forEach(filter::put);
+
+        // THEN
+        assertThat(LongStream.range(0, 10_000).allMatch(filter::mightContain)).isTrue();
+        final long falsePositives = LongStream.range(1_000_000, 1_100_000).filter(filter::mightContain).count();
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("A removed ID should no longer be reported, without affecting the IDs sharing its slots.")
+    void removeShouldOnlyForgetTheRemovedId() {
+        // GIVEN
+        final UserIdBloomFilter filter = new UserIdBloomFilter(properties);
+        LongStream.range(0, 10_000).forEach(filter::put);
+
+        // WHEN
+        filter.remove(42L);
+
+        // THEN
+        assertThat(filter.mightContain(42L)).isFalse();
+        assertThat(LongStream.range(0, 10_000).filter(id -> id != 42L).allMatch(filter::mightContain)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Rebuilding should replace the content of the filter.")
+    void rebuildShouldReplaceContent() {
+        // GIVEN
+        final UserIdBloomFilter filter = new UserIdBloomFilter(properties);
+        filter.put(1L);
+
+        // WHEN
+        filter.rebuild(List.of(2L, 3L));
+
+        // THEN
+        assertThat(filter.mightContain(1L)).isFalse();
+        assertThat(filter.mightContain(2L)).isTrue();
+        assertThat(filter.mightContain(3L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A disabled filter should report every ID as possibly present.")
+    void disabledFilterShouldRejectNothing() {
+        // GIVEN
+        properties.setEnabled(false);
+        final UserIdBloomFilter filter = new UserIdBloomFilter(properties);
+
+        // WHEN
+        filter.rebuild(List.of(1L));
+
+        // THEN
+        assertThat(filter.mightContain(404L)).isTrue();
+    }
+}
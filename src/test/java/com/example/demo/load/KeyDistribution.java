@@ -0,0 +1,98 @@
+package com.example.demo.load;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the user ID of the next request out of {@code 1..n}.
+ */
+interface KeyDistribution {
+
+    /**
+     * @return the next user ID, between 1 and the number of users inclusive.
+     */
+    long next();
+
+    /**
+     * Builds the distribution named by {@code load.distribution}.
+     *
+     * @param name  {@code zipfian}, {@code uniform} or {@code hotspot}.
+     * @param users the number of users.
+     * @return the key distribution.
+     */
+    static KeyDistribution of(final String name, final int users) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "uniform" -> () -> ThreadLocalRandom.current().nextLong(users) + 1;
+            case "hotspot" -> new Hotspot(users, Double.parseDouble(System.getProperty("load.hotspot.keyFraction", "0.2")),
+                Double.parseDouble(System.getProperty("load.hotspot.opFraction", "0.8")));
+            case "zipfian" -> new Zipfian(users, Double.parseDouble(System.getProperty("load.zipfian.theta", "0.99")));
+            default -> throw new IllegalArgumentException("Unknown key distribution '" + name + "'");
+        };
+    }
+
+    /**
+     * Zipfian ranks following Gray et al., "Quickly Generating Billion-Record Synthetic Databases" (as used by YCSB):
+     * ID 1 is the most popular, the popularity of rank {@code i} is proportional to {@code 1 / i^theta}.
+     */
+    final class Zipfian implements KeyDistribution {
+        private final int items;
+        private final double theta;
+        private final double alpha;
+        private final double zetaN;
+        private final double eta;
+
+        Zipfian(final int items, final double theta) {
+            this.items = items;
+            this.theta = theta;
+            this.alpha = 1.0 / (1.0 - theta);
+            this.zetaN = zeta(items, theta);
+            this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+        }
+
+        @Override
+        public long next() {
+            final double u = ThreadLocalRandom.current().nextDouble();
+            final double uz = u * zetaN;
+            if (uz < 1.0) {
+                return 1;
+            }
+            if (uz < 1.0 + Math.pow(0.5, theta)) {
+                return 2;
+            }
+            return 1 + Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+        }
+
+        private static double zeta(final long n, final double theta) {
+            double sum = 0;
+            for (long i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * A share of the operations ({@code opFraction}) goes uniformly to the first {@code keyFraction} of the IDs,
+     * the rest goes uniformly to the remaining IDs.
+     */
+    final class Hotspot implements KeyDistribution {
+        private final int users;
+        private final int hotUsers;
+        private final double opFraction;
+
+        Hotspot(final int users, final double keyFraction, final double opFraction) {
+            this.users = users;
+            this.hotUsers = Math.max(1, Math.min(users, (int) (users * keyFraction)));
+            this.opFraction = opFraction;
+        }
+
+        @Override
+        public long next() {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (hotUsers == users || random.nextDouble() < opFraction) {
+                return random.nextLong(hotUsers) + 1;
+            }
+            return hotUsers + random.nextLong(users - hotUsers) + 1;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.demo.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.BaseIntegrationTest;
+import com.example.demo.model.CacheMetricsResponse;
+import com.example.demo.model.User;
+import com.example.demo.service.CacheMetricsService;
+import com.example.demo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * Closed-loop workload driver for {@code GET /api/users/{id}} with a skewed key distribution.
+ * <p>
+ * Seeds {@code load.users} users through {@link UserService#importUsers(java.util.Iterator)}, warms up, then lets
+ * {@code load.concurrency} workers issue requests for {@code load.duration}. Each operation is a cached read, a
+ * {@code bypassCache=true} read, an update or a delete, following the {@code load.mix.*} shares; updates and deletes
+ * go through the service since the API has no endpoints for them. The report (throughput, p50/p99/p999/max per
+ * operation, error count, the hit rate from {@code /api/metrics/users} and the peak number of live JVM threads) is
+ * written as JSON to {@code load.report}.
+ * </p>
+ * <p>
+ * {@code load.web=reactive} serves the reads from the WebFlux read path on Netty instead of the servlet stack, so
+ * that both can be compared under the same workload, e.g. with {@code load.concurrency=10000}.
+ * {@code load.virtualThreads=true} runs the servlet stack on virtual threads instead of Tomcat's bounded pool; a
+ * large {@code load.mix.bypass} share makes most requests block on the store and shows the difference. The number
+ * of pinnings reported by the pinning monitor is part of the report then. {@code load.store=jdbc} keeps the users in
+ * the embedded H2 database instead of memory, so that misses pay a real persistence cost.
+ * {@code load.writeBehind=true} queues updates and deletes and flushes them to the store in the background.
+ * </p>
+ * <p>
+ * Excluded from the regular test run, execute with {@code ./gradlew loadTest -Pload.distribution=hotspot ...}.
+ * </p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.main.web-application-type=${load.web:servlet}",
+        "spring.threads.virtual.enabled=${load.virtualThreads:false}",
+        "redis.spring.demo.store.type=${load.store:memory}",
+        "redis.spring.demo.write-behind.enabled=${load.writeBehind:false}"
+    })
+@DisplayName("User Load Test")
+@Testcontainers
+class UserLoadTest extends BaseIntegrationTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserLoadTest.class);
+    private static final long MAX_TRACKED_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    enum Operation { READ, BYPASS_READ, UPDATE, DELETE }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheMetricsService cacheMetricsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .build();
+
+    @Test
+    @DisplayName("Drive skewed user reads and write a latency report")
+    void driveUserLoad() throws Exception {
+        // GIVEN
+        final int users = Integer.getInteger("load.users", 1_000);
+        final int concurrency = Integer.getInteger("load.concurrency", 32);
+        final Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+        final Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        final String distributionName = System.getProperty("load.distribution", "zipfian");
+        final double bypassShare = Double.parseDouble(System.getProperty("load.mix.bypass", "0.05"));
+        final double updateShare = Double.parseDouble(System.getProperty("load.mix.update", "0.05"));
+        final double deleteShare = Double.parseDouble(System.getProperty("load.mix.delete", "0.01"));
+        final Path reportFile = Path.of(System.getProperty("load.report", "build/reports/load/users-load.json"));
+        final String web = System.getProperty("load.web", "servlet");
+        final boolean virtualThreads = Boolean.getBoolean("load.virtualThreads");
+        final String store = System.getProperty("load.store", "memory");
+        final boolean writeBehind = Boolean.getBoolean("load.writeBehind");
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        userService.importUsers(LongStream.rangeClosed(1, users).mapToObj(UserLoadTest::user).iterator());
+        final KeyDistribution keys = KeyDistribution.of(distributionName, users);
+        final Workload workload = new Workload(keys, bypassShare, updateShare, deleteShare);
+
+        // WHEN
+        workload.run(concurrency, warmup);
+        workload.reset();
+        cacheMetricsService.resetMetrics("users");
+        threads.resetPeakThreadCount();
+        final long start = System.nanoTime();
+        workload.run(concurrency, duration);
+        final double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        final CacheMetricsResponse metrics = fetchMetrics();
+
+        // THEN
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", Map.of(
+            "users", users,
+            "web", web,
+            "virtualThreads", virtualThreads,
+            "store", store,
+            "writeBehind", writeBehind,
+            "concurrency", concurrency,
+            "durationSeconds", duration.toSeconds(),
+            "distribution", distributionName,
+            "mix", Map.of("bypass", bypassShare, "update", updateShare, "delete", deleteShare)));
+        report.put("operations", workload.operations());
+        report.put("errors", workload.errors.sum());
+        report.put("throughputOpsPerSecond", workload.operations() / elapsedSeconds);
+        report.put("latencyMillis", workload.latencies());
+        report.put("cache", metrics);
+        // The servlet stack needs a thread per in-flight request, the reactive one a few event loop threads.
+        report.put("peakThreads", threads.getPeakThreadCount());
+        // Virtual threads are not live JVM threads; the carriers they pinned while blocking show up here instead.
+        report.put("pinnedVirtualThreads", Optional.ofNullable(meterRegistry.find("jvm.threads.virtual.pinned").counter())
+            .map(Counter::count)
+            .orElse(0.0));
+
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        objectMapper.writeValue(reportFile.toFile(), report);
+        LOGGER.info("Load test report written to {}", reportFile.toAbsolutePath());
+
+        assertThat(workload.operations()).isPositive();
+    }
+
+    private CacheMetricsResponse fetchMetrics() throws IOException, InterruptedException {
+        final HttpResponse<byte[]> response = httpClient.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/metrics/users")).GET().build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        return objectMapper.readValue(response.body(), CacheMetricsResponse.class);
+    }
+
+    private static User user(final long id) {
+        return new User(id, "User " + id, "user" + id + "@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+    }
+
+    /**
+     * The workers and what they measured. Latencies are recorded in microseconds.
+     */
+    private final class Workload {
+        private final KeyDistribution keys;
+        private final double bypassShare;
+        private final double updateShare;
+        private final double deleteShare;
+        private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        private final LongAdder errors = new LongAdder();
+
+        Workload(final KeyDistribution keys, final double bypassShare, final double updateShare,
+                 final double deleteShare) {
+            this.keys = keys;
+            this.bypassShare = bypassShare;
+            this.updateShare = updateShare;
+            this.deleteShare = deleteShare;
+            for (final Operation operation : Operation.values()) {
+                recorders.put(operation, new Recorder(MAX_TRACKED_LATENCY_MICROS, 3));
+            }
+        }
+
+        void run(final int concurrency, final Duration duration) throws Exception {
+            final long deadline = System.nanoTime() + duration.toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                final List<Future<?>> workers = new ArrayList<>();
+                for (int i = 0; i < concurrency; i++) {
+                    workers.add(executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            execute(nextOperation(), keys.next());
+                        }
+                        return null;
+                    }));
+                }
+                for (final Future<?> worker : workers) {
+                    worker.get();
+                }
+            }
+            recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        }
+
+        void reset() {
+            recorders.values().forEach(Recorder::reset);
+            histograms.clear();
+            errors.reset();
+        }
+
+        long operations() {
+            return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        Map<String, Map<String, Object>> latencies() {
+            final Map<String, Map<String, Object>> latencies = new LinkedHashMap<>();
+            histograms.forEach((operation, histogram) -> latencies.put(operation.name().toLowerCase(), Map.of(
+                "count", histogram.getTotalCount(),
+                "p50", histogram.getValueAtPercentile(50) / 1000.0,
+                "p99", histogram.getValueAtPercentile(99) / 1000.0,
+                "p999", histogram.getValueAtPercentile(99.9) / 1000.0,
+                "max", histogram.getMaxValue() / 1000.0)));
+            return latencies;
+        }
+
+        private Operation nextOperation() {
+            final double draw = ThreadLocalRandom.current().nextDouble();
+            if (draw < deleteShare) {
+                return Operation.DELETE;
+            }
+            if (draw < deleteShare + updateShare) {
+                return Operation.UPDATE;
+            }
+            if (draw < deleteShare + updateShare + bypassShare) {
+                return Operation.BYPASS_READ;
+            }
+            return Operation.READ;
+        }
+
+        private void execute(final Operation operation, final long id) {
+            final long start = System.nanoTime();
+            try {
+                switch (operation) {
+                    case READ -> get("/api/users/" + id);
+                    case BYPASS_READ -> get("/api/users/" + id + "?bypassCache=true");
+                    case UPDATE -> userService.updateUser(user(id));
+                    // The user comes back with the next update of the same ID, reads in between see it missing.
+                    case DELETE -> userService.removeUser(id);
+                }
+            } catch (Exception e) {
+                errors.increment();
+            } finally {
+                final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                recorders.get(operation).recordValue(Math.min(micros, MAX_TRACKED_LATENCY_MICROS));
+            }
+        }
+
+        private void get(final String path) throws IOException, InterruptedException {
+            final HttpResponse<Void> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+/**
+ * Behaviour every {@link UserRepository} must have, run against each implementation.
+ */
+abstract class AbstractUserRepositoryTest {
+
+    static final User ALICE = new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+    static final User BOB = new User(2L, "Bob", "bob@example.com", Instant.parse("2025-10-06T00:05:00Z"));
+
+    /**
+     * @return the repository under test, seeded with the two demo users.
+     */
+    abstract UserRepository repository();
+
+    @Test
+    @DisplayName("The demo users should be found by ID.")
+    void findByIdShouldReturnSeededUsers() {
+        assertThat(repository().findById(1L)).contains(ALICE);
+        assertThat(repository().findById(2L)).contains(BOB);
+        assertThat(repository().findById(404L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Saving should report whether a user with the same ID was replaced.")
+    void saveShouldInsertOrReplace() {
+        // GIVEN
+        final User charlie = new User(3L, "Charlie", "charlie@example.com", Instant.parse("2025-10-06T00:10:00Z"));
+        final User renamed = new User(3L, "Charles", "charlie@example.com", Instant.parse("2025-10-06T00:10:00Z"));
+
+        // WHEN, THEN
+        assertThat(repository().save(charlie)).isFalse();
+        assertThat(repository().save(renamed)).isTrue();
+        assertThat(repository().findById(3L)).contains(renamed);
+    }
+
+    @Test
+    @DisplayName("Deleting should report whether a user was removed.")
+    void deleteByIdShouldRemoveUser() {
+        assertThat(repository().deleteById(2L)).isTrue();
+        assertThat(repository().deleteById(2L)).isFalse();
+        assertThat(repository().findById(2L)).isEmpty();
+        assertThat(repository().findAllIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Looking up several users should return the ones found, keyed by ID.")
+    void findAllByIdShouldSkipUnknownIds() {
+        // GIVEN
+        LongStream.rangeClosed(3, 10).forEach(id -> repository().save(user(id)));
+
+        // WHEN
+        final Map<Long, User> users = repository().findAllById(List.of(10L, 1L, 404L, 5L, 1L, 7L));
+
+        // THEN
+        assertThat(users).containsOnlyKeys(1L, 5L, 7L, 10L);
+        assertThat(users.get(1L)).isEqualTo(ALICE);
+        assertThat(users.get(7L)).isEqualTo(user(7L));
+    }
+
+    @Test
+    @DisplayName("Saving several users should report the ones that replaced a user.")
+    void saveAllShouldInsertOrReplace() {
+        // GIVEN
+        final User renamedBob = new User(2L, "Robert", "bob@example.com", Instant.parse("2025-10-06T00:05:00Z"));
+
+        // WHEN
+        final Set<Long> replaced = repository().saveAll(List.of(user(3L), renamedBob, user(4L)));
+
+        // THEN
+        assertThat(replaced).containsExactly(2L);
+        assertThat(repository().findAllIds()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(repository().findById(2L)).contains(renamedBob);
+    }
+
+    @Test
+    @DisplayName("Deleting several users should report the ones removed.")
+    void deleteAllByIdShouldRemoveUsers() {
+        // GIVEN
+        LongStream.rangeClosed(3, 10).forEach(id -> repository().save(user(id)));
+
+        // WHEN
+        final Set<Long> removed = repository().deleteAllById(List.of(2L, 404L, 5L, 9L));
+
+        // THEN
+        assertThat(removed).containsExactlyInAnyOrder(2L, 5L, 9L);
+        assertThat(repository().findAllIds()).containsExactly(1L, 3L, 4L, 6L, 7L, 8L, 10L);
+    }
+
+    @Test
+    @DisplayName("Paging after the last ID of each page should read every user once, in ID order.")
+    void findPageAfterShouldPageInIdOrder() {
+        // GIVEN
+        LongStream.rangeClosed(3, 10).forEach(id -> repository().save(user(id)));
+        repository().deleteById(6L);
+
+        // WHEN
+        final List<User> first = repository().findPageAfter(Long.MIN_VALUE, 4);
+        final List<User> second = repository().findPageAfter(first.get(3).id(), 4);
+        final List<User> third = repository().findPageAfter(second.get(3).id(), 4);
+
+        // THEN
+        assertThat(first).extracting(User::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(second).extracting(User::id).containsExactly(5L, 7L, 8L, 9L);
+        assertThat(third).extracting(User::id).containsExactly(10L);
+        assertThat(repository().findPageAfter(10L, 4)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Concurrent writers of different users should all be stored.")
+    void concurrentWritesShouldAllBeStored() {
+        // WHEN
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            LongStream.rangeClosed(100, 499).forEach(id -> executor.execute(() -> repository().save(user(id))));
+        }
+
+        // THEN
+        assertThat(repository().findAllIds()).hasSize(402).startsWith(1L, 2L, 100L).endsWith(499L);
+        assertThat(repository().findAll()).hasSize(402).containsEntry(250L, user(250L));
+    }
+
+    static User user(final long id) {
+        return new User(id, "User " + id, "user" + id + "@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+    }
+}
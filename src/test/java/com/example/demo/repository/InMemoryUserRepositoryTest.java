@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Unit tests for {@link InMemoryUserRepository}.
+ */
+class InMemoryUserRepositoryTest extends AbstractUserRepositoryTest {
+
+    private InMemoryUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserRepository();
+    }
+
+    @Override
+    UserRepository repository() {
+        return repository;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.repository;
+
+import com.example.demo.properties.StoreProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Unit tests for {@link JdbcUserRepository}, against an embedded H2 database set up by the application's scripts.
+ */
+class JdbcUserRepositoryTest extends AbstractUserRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScripts("schema.sql", "data.sql")
+            .build();
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setType(StoreProperties.StoreType.JDBC);
+        // Small batches, so that multi-gets span several queries
+        storeProperties.setJdbcBatchSize(3);
+        repository = new JdbcUserRepository(new JdbcTemplate(database), storeProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Override
+    UserRepository repository() {
+        return repository;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.BaseIntegrationTest;
+import com.example.demo.filter.UserIdBloomFilter;
+import com.example.demo.model.BulkImportResult;
+import com.example.demo.model.User;
+import com.example.demo.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Integration tests for {@link WriteBehindUserRepository}, queueing the writes of the {@link UserService} in a Redis
+ * Stream in front of the in-memory store.
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "redis.spring.demo.write-behind.enabled=true",
+        "redis.spring.demo.write-behind.node-id=integration-test",
+        "redis.spring.demo.write-behind.batch-size=10",
+        "redis.spring.demo.write-behind.max-delay=300ms",
+        "redis.spring.demo.write-behind.poll-interval=50ms"
+    })
+@DisplayName("Write-Behind User Repository Integration Tests")
+@Testcontainers
+class WriteBehindUserRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WriteBehindUserRepository writeBehindRepository;
+
+    @Autowired
+    @Qualifier("userStore")
+    private UserRepository store;
+
+    @Autowired
+    private UserIdBloomFilter userIdBloomFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("An added user should be readable at once and reach the store after the max delay.")
+    void addedUserShouldBeFlushedAfterMaxDelay() {
+        // WHEN
+        final User added = userService.addUser(user(701L, "Grace"));
+
+        // THEN
+        assertThat(store.findById(701L)).isEmpty();
+        assertThat(userService.getUserById(701L)).isEqualTo(added);
+        assertThat(userService.getUserByIdBypassCache(701L)).isEqualTo(added);
+        await(() -> store.findById(701L).isPresent());
+        assertThat(store.findById(701L)).contains(added);
+    }
+
+    @Test
+    @DisplayName("Repeated updates of a user should be coalesced into one store write of the last one.")
+    void repeatedUpdatesShouldBeCoalesced() {
+        // GIVEN
+        final double coalescedBefore = meterRegistry.get("users.write-behind.coalesced").functionCounter().count();
+
+        // WHEN
+        userService.addUser(user(702L, "Heidi"));
+        userService.updateUser(user(702L, "Heidi v2"));
+        final User last = userService.updateUser(user(702L, "Heidi v3"));
+
+        // THEN
+        await(() -> writeBehindRepository.getPending() == 0);
+        assertThat(store.findById(702L)).contains(last);
+        assertThat(meterRegistry.get("users.write-behind.coalesced").functionCounter().count() - coalescedBefore)
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A removed user should be gone at once, and unknown to the Bloom filter once flushed.")
+    void removedUserShouldBeForgotten() {
+        // GIVEN a user saved twice, so counted twice in the Bloom filter until flushed
+        userService.addUser(user(703L, "Ivan"));
+        userService.updateUser(user(703L, "Ivan v2"));
+        await(() -> writeBehindRepository.getPending() == 0);
+
+        // WHEN
+        userService.removeUser(703L);
+
+        // THEN
+        assertThat(userService.getUserByIdBypassCache(703L)).isNull();
+        assertThat(userService.getUserById(703L)).isNull();
+        await(() -> writeBehindRepository.getPending() == 0);
+        assertThat(store.findById(703L)).isEmpty();
+        assertThat(userIdBloomFilter.mightContain(703L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A bulk import should report its users as queued, neither created nor replaced.")
+    void importedUsersShouldBeReportedAsQueued() {
+        // WHEN Alice again and a new user
+        final BulkImportResult result =
+            userService.importUsers(List.of(user(1L, "Alice"), user(704L, "Judy")).iterator());
+
+        // THEN
+        assertThat(result.received()).isEqualTo(2);
+        assertThat(result.queued()).isEqualTo(2);
+        assertThat(result.created()).isZero();
+        assertThat(result.replaced()).isZero();
+        await(() -> store.findById(704L).isPresent());
+    }
+
+    private static User user(final long id, final String name) {
+        return new User(id, name, name.toLowerCase().replace(' ', '.') + "@example.com",
+            Instant.parse("2025-10-06T00:00:00Z"));
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+}
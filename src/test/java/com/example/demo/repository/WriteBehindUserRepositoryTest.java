@@ -0,0 +1,98 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.demo.filter.UserIdBloomFilter;
+import com.example.demo.model.User;
+import com.example.demo.properties.BloomFilterProperties;
+import com.example.demo.properties.WriteBehindProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link WriteBehindUserRepository}, with the stream mocked.
+ */
+@ExtendWith(MockitoExtension.class)
+class WriteBehindUserRepositoryTest {
+
+    private static final String STREAM_KEY = "users:write-behind:node-1";
+    private static final RecordId RECORD_ID = RecordId.of("1000-0");
+    private static final User CAROL = new User(3L, "Carol", "carol@example.com", Instant.parse("2025-10-06T00:10:00Z"));
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private InMemoryUserRepository store;
+    private UserIdBloomFilter userIdBloomFilter;
+    private WriteBehindUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        final WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setNodeId("node-1");
+        store = new InMemoryUserRepository();
+        userIdBloomFilter = new UserIdBloomFilter(new BloomFilterProperties());
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+        // Well past the max delay of the queued write, so that a flush picks it up.
+        final Clock clock = Clock.fixed(Instant.ofEpochMilli(RECORD_ID.getTimestamp() + 60_000), ZoneOffset.UTC);
+        repository = new WriteBehindUserRepository(store, redisTemplate, properties, userIdBloomFilter, objectMapper,
+            new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    @DisplayName("A flush retried after its stream delete failed should keep the Bloom filter count of a new user.")
+    void retriedFlushShouldSettleCountsOnce() throws Exception {
+        // GIVEN
+        final MapRecord<String, Object, Object> queued = StreamRecords.newRecord()
+            .in(STREAM_KEY)
+            .withId(RECORD_ID)
+            .ofMap(Map.<Object, Object>of("id", "3", "user", objectMapper.writeValueAsString(CAROL)));
+        doReturn(RECORD_ID).when(streamOperations).add(any(MapRecord.class));
+        when(streamOperations.range(eq(STREAM_KEY), any(), any())).thenReturn(List.of(queued));
+        when(streamOperations.delete(eq(STREAM_KEY), any(RecordId[].class)))
+            .thenThrow(new QueryTimeoutException("XDEL timed out"))
+            .thenReturn(1L);
+        userIdBloomFilter.put(CAROL.id());
+        repository.save(CAROL);
+
+        // WHEN
+        repository.flush();
+        repository.flush();
+
+        // THEN
+        verify(streamOperations, times(2)).delete(eq(STREAM_KEY), any(RecordId[].class));
+        assertThat(repository.getPending()).isZero();
+        assertThat(store.findById(CAROL.id())).contains(CAROL);
+        assertThat(userIdBloomFilter.mightContain(CAROL.id())).isTrue();
+        // Exactly the one count of the saved user is left.
+        userIdBloomFilter.remove(CAROL.id());
+        assertThat(userIdBloomFilter.mightContain(CAROL.id())).isFalse();
+    }
+}
@@ -64,6 +64,23 @@ public class RefreshAheadSchedulerTest {
         verify(cacheRefreshService, times(3)).refreshUserAhead(anyLong());
     }
 
+    @Test
+    @DisplayName("Test refresh hot users in batch mode should refresh all hot users in one call.")
+    void refreshHotUsers_batchModeShouldRefreshAllHotUsersAtOnce() {
+        // GIVEN
+        final Set<Long> hotUserIds = Set.of(10L, 20L, 30L);
+        when(redisExtraProperties.isBatchRefresh()).thenReturn(true);
+        when(userAccessTracker.getTopHotUsers(10)).thenReturn(hotUserIds);
+
+        // WHEN
+        refreshAheadScheduler.refreshHotUsers();
+
+        // THEN
+        verify(cacheRefreshService, times(1)).refreshUsersAhead(hotUserIds);
+        verify(cacheRefreshService, never()).refreshUserAhead(anyLong());
+        verify(stringRedisTemplate).delete("refresh_hot_users_lock");
+    }
+
     @Test
     @DisplayName("Test refresh hot user does nothing when there are no hot users.")
     void refreshHotUsers_shouldDoNothingWhenNoHotUsers() {
@@ -0,0 +1,99 @@
+package com.example.demo.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.demo.cache.CacheEntry;
+import com.example.demo.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Instant;
+
+/**
+ * Unit tests for {@link CacheEntryRedisSerializer}.
+ */
+class CacheEntryRedisSerializerTest {
+
+    private static final User USER = new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+
+    private Jackson2JsonRedisSerializer<User> jsonSerializer;
+
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, User.class);
+    }
+
+    @Test
+    @DisplayName("An envelope should round trip its value, compute time and expiry.")
+    void envelopeShouldRoundTrip() {
+        // GIVEN
+        final CacheEntryRedisSerializer<User> serializer = new CacheEntryRedisSerializer<>(jsonSerializer, true);
+        final CacheEntry entry = new CacheEntry(USER, 512, 1_759_709_400_000L, 1_759_709_100_000L);
+
+        // WHEN
+        final Object decoded = serializer.deserialize(serializer.serialize(entry));
+
+        // THEN
+        assertThat(decoded).isEqualTo(entry);
+    }
+
+    @Test
+    @DisplayName("Values without an envelope should be written and read by the value serializer alone.")
+    void plainValueShouldUseValueSerializer() {
+        // GIVEN
+        final CacheEntryRedisSerializer<User> serializer = new CacheEntryRedisSerializer<>(jsonSerializer, true);
+
+        // WHEN
+        final byte[] bytes = serializer.serialize(USER);
+
+        // THEN
+        assertThat(bytes).isEqualTo(jsonSerializer.serialize(USER));
+        assertThat(serializer.deserialize(bytes)).isEqualTo(USER);
+    }
+
+    @Test
+    @DisplayName("Envelopes should be unwrapped on read when they are not kept.")
+    void envelopeShouldBeUnwrappedWhenNotKept() {
+        // GIVEN
+        final byte[] bytes = new CacheEntryRedisSerializer<>(jsonSerializer, true)
+            .serialize(new CacheEntry(USER, 512, 1_759_709_400_000L));
+
+        // WHEN
+        final Object decoded = new CacheEntryRedisSerializer<>(jsonSerializer, false).deserialize(bytes);
+
+        // THEN
+        assertThat(decoded).isEqualTo(USER);
+    }
+
+    @Test
+    @DisplayName("An envelope of an unknown version should be rejected.")
+    void unknownVersionShouldBeRejected() {
+        // GIVEN
+        final CacheEntryRedisSerializer<User> serializer = new CacheEntryRedisSerializer<>(jsonSerializer, true);
+        final byte[] bytes = serializer.serialize(new CacheEntry(USER, 512, 1_759_709_400_000L));
+        bytes[1] = CacheEntryRedisSerializer.VERSION + 1;
+
+        // WHEN, THEN
+        assertThatThrownBy(() -> serializer.deserialize(bytes)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    @DisplayName("A truncated envelope should be rejected.")
+    void truncatedEnvelopeShouldBeRejected() {
+        // GIVEN
+        final CacheEntryRedisSerializer<User> serializer = new CacheEntryRedisSerializer<>(jsonSerializer, true);
+        final byte[] bytes = {CacheEntryRedisSerializer.MAGIC, CacheEntryRedisSerializer.VERSION, 0};
+
+        // WHEN, THEN
+        assertThatThrownBy(() -> serializer.deserialize(bytes))
+            .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.demo.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Instant;
+
+/**
+ * Unit tests for {@link UserBinaryRedisSerializer}.
+ */
+class UserBinaryRedisSerializerTest {
+
+    private Jackson2JsonRedisSerializer<User> jsonSerializer;
+    private UserBinaryRedisSerializer binarySerializer;
+
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, User.class);
+        binarySerializer = new UserBinaryRedisSerializer(jsonSerializer);
+    }
+
+    @Test
+    @DisplayName("Binary encoding should round trip every field including sub-millisecond precision.")
+    void serializeShouldRoundTrip() {
+        // GIVEN
+        final User user = new User(123_456_789L, "Zo\u00eb", "zoe@example.com", Instant.parse("2025-10-06T00:00:00.123456789Z"));
+        // WHEN
+        final User decoded = binarySerializer.deserialize(binarySerializer.serialize(user));
+        // THEN
+        assertThat(decoded).isEqualTo(user);
+    }
+
+    @Test
+    @DisplayName("Null fields, negative ids and pre-epoch timestamps should round trip.")
+    void serializeShouldRoundTripEdgeValues() {
+        // GIVEN
+        final User withNulls = new User(null, null, "x@example.com", null);
+        final User preEpoch = new User(-42L, "", "", Instant.parse("1969-12-31T23:59:59.500000001Z"));
+        // WHEN, THEN
+        assertThat(binarySerializer.deserialize(binarySerializer.serialize(withNulls))).isEqualTo(withNulls);
+        assertThat(binarySerializer.deserialize(binarySerializer.serialize(preEpoch))).isEqualTo(preEpoch);
+    }
+
+    @Test
+    @DisplayName("Entries written as JSON before the rollout should still be readable.")
+    void deserializeShouldReadLegacyJson() {
+        // GIVEN
+        final User user = new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+        final byte[] json = jsonSerializer.serialize(user);
+        // WHEN
+        final User decoded = binarySerializer.deserialize(json);
+        // THEN
+        assertThat(decoded).isEqualTo(user);
+    }
+
+    @Test
+    @DisplayName("Binary entries should be considerably smaller than JSON entries.")
+    void serializeShouldBeSmallerThanJson() {
+        // GIVEN
+        final User user = new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+        // WHEN
+        final int binarySize = binarySerializer.serialize(user).length;
+        final int jsonSize = jsonSerializer.serialize(user).length;
+        // THEN
+        assertThat(binarySize).isLessThan(jsonSize / 2);
+    }
+
+    @Test
+    @DisplayName("Unknown layout versions and truncated payloads should be rejected.")
+    void deserializeShouldRejectUnknownOrTruncatedPayloads() {
+        // GIVEN
+        final byte[] encoded = binarySerializer.serialize(new User(1L, "Alice", "alice@example.com", Instant.now()));
+        final byte[] unknownVersion = encoded.clone();
+        unknownVersion[1] = 99;
+        final byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 3);
+        // WHEN, THEN
+        assertThatThrownBy(() -> binarySerializer.deserialize(unknownVersion)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> binarySerializer.deserialize(truncated)).isInstanceOf(SerializationException.class);
+    }
+}
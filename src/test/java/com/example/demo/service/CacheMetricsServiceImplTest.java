@@ -0,0 +1,148 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.demo.model.CacheMetricsResponse;
+import com.example.demo.model.CacheOperation;
+import com.example.demo.model.LatencySummary;
+import com.example.demo.properties.CacheMetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link CacheMetricsServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheMetricsServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private CacheMetricsProperties metricsProperties;
+    private CacheMetricsServiceImpl cacheMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        metricsProperties = new CacheMetricsProperties();
+        cacheMetricsService = new CacheMetricsServiceImpl(redisTemplate, metricsProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Test per-call mode increments the Redis counter on every hit.")
+    void incrementHitCount_shouldIncrementRedisImmediately() {
+        // GIVEN
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // WHEN
+        cacheMetricsService.incrementHitCount("users");
+        // THEN
+        verify(valueOperations).increment("metrics:cache:hit:users");
+    }
+
+    @Test
+    @DisplayName("Test bulk increments cost one INCRBY per counter, and none for a zero count.")
+    void bulkIncrement_shouldIncrementRedisOnce() {
+        // GIVEN
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // WHEN
+        cacheMetricsService.incrementHitCount("users", 7);
+        cacheMetricsService.incrementMissCount("users", 0);
+        // THEN
+        verify(valueOperations).increment("metrics:cache:hit:users", 7L);
+        verify(valueOperations, never()).increment(eq("metrics:cache:miss:users"), anyLong());
+    }
+
+    @Test
+    @DisplayName("Test aggregating mode counts locally and flushes one INCRBY per counter.")
+    @SuppressWarnings("unchecked")
+    void aggregateMode_shouldFlushSummedCountsInOnePipeline() {
+        // GIVEN
+        metricsProperties.setAggregate(true);
+        cacheMetricsService.incrementHitCount("users");
+        cacheMetricsService.incrementHitCount("users");
+        cacheMetricsService.incrementMissCount("users");
+        verify(redisTemplate, never()).opsForValue();
+
+        // WHEN
+        cacheMetricsService.flush();
+
+        // THEN
+        final ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate, times(1)).executePipelined(callback.capture());
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        callback.getValue().doInRedis(connection);
+        verify(stringCommands).incrBy("metrics:cache:hit:users".getBytes(StandardCharsets.UTF_8), 2L);
+        verify(stringCommands).incrBy("metrics:cache:miss:users".getBytes(StandardCharsets.UTF_8), 1L);
+    }
+
+    @Test
+    @DisplayName("Test aggregating mode reports flushed and not yet flushed counts together.")
+    void aggregateMode_shouldIncludePendingCountsInMetrics() {
+        // GIVEN
+        metricsProperties.setAggregate(true);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList("5", null, null, null, null));
+        cacheMetricsService.incrementHitCount("users");
+        cacheMetricsService.incrementMissCount("users");
+
+        // WHEN
+        final CacheMetricsResponse metrics = cacheMetricsService.generateCacheMetrics("users");
+
+        // THEN
+        assertThat(metrics.hits()).isEqualTo(6L);
+        assertThat(metrics.misses()).isEqualTo(1L);
+        assertThat(metrics.total()).isEqualTo(7L);
+        assertThat(metrics.hitRate()).isEqualTo("86%");
+    }
+
+    @Test
+    @DisplayName("Test recorded latencies are reported as percentiles per operation.")
+    void recordLatency_shouldReportPercentiles() {
+        // GIVEN
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList("1", "1", "1", "1", null));
+        for (int i = 1; i <= 100; i++) {
+            cacheMetricsService.recordLatency("users", CacheOperation.GET, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        // WHEN
+        final CacheMetricsResponse metrics = cacheMetricsService.generateCacheMetrics("users");
+
+        // THEN
+        assertThat(metrics.loads()).isEqualTo(1L);
+        assertThat(metrics.puts()).isEqualTo(1L);
+        assertThat(metrics.evictions()).isZero();
+        assertThat(metrics.latencies()).containsOnlyKeys("get");
+        final LatencySummary get = metrics.latencies().get("get");
+        assertThat(get.count()).isEqualTo(100L);
+        assertThat(get.p50()).isBetween(40.0, 60.0);
+        assertThat(get.p99()).isBetween(90.0, 110.0);
+        assertThat(get.max()).isEqualTo(100.0);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.demo.cache.ReactiveRedisCacheOperations;
+import com.example.demo.filter.UserIdBloomFilter;
+import com.example.demo.model.User;
+import com.example.demo.properties.RedisExtraProperties;
+import com.example.demo.properties.StoreProperties;
+import com.example.demo.repository.InMemoryUserRepository;
+import com.example.demo.tracker.UserAccessTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.SimpleValueWrapper;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ReactiveUserServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceImplTest {
+
+    private static final User ALICE = new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+
+    @Mock
+    private ReactiveRedisCacheOperations cacheOperations;
+    @Mock
+    private UserIdBloomFilter userIdBloomFilter;
+    @Mock
+    private UserAccessTracker userAccessTracker;
+    @Mock
+    private CacheMetricsService cacheMetricsService;
+
+    private ReactiveUserServiceImpl reactiveUserService;
+
+    @BeforeEach
+    void setUp() {
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setSimulatedLatency(Duration.ofMillis(100));
+        reactiveUserService = new ReactiveUserServiceImpl(cacheOperations, userIdBloomFilter, userAccessTracker,
+            cacheMetricsService, new RedisExtraProperties(), new InMemoryUserRepository(), storeProperties);
+    }
+
+    @Test
+    @DisplayName("A cached user should be served from Redis without loading it.")
+    void cachedUserShouldBeServedFromRedis() {
+        // GIVEN
+        when(userIdBloomFilter.mightContain(1L)).thenReturn(true);
+        when(cacheOperations.get("users", 1L)).thenReturn(Mono.just(new SimpleValueWrapper(ALICE)));
+
+        // WHEN, THEN
+        StepVerifier.create(reactiveUserService.getUserById(1L))
+            .expectNext(ALICE)
+            .verifyComplete();
+        verify(cacheOperations, never()).put(anyString(), any(), any());
+        verify(cacheMetricsService, timeout(1_000)).incrementHitCount("users");
+    }
+
+    @Test
+    @DisplayName("A negative entry should be served as an empty result without loading the user.")
+    void negativeEntryShouldBeServedAsEmpty() {
+        // GIVEN
+        when(userIdBloomFilter.mightContain(404L)).thenReturn(true);
+        when(cacheOperations.get("users", 404L)).thenReturn(Mono.just(new SimpleValueWrapper(null)));
+
+        // WHEN, THEN
+        StepVerifier.create(reactiveUserService.getUserById(404L))
+            .verifyComplete();
+        verify(cacheOperations, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Concurrent misses of the same user should share one store load, cached and tracked once.")
+    void concurrentMissesShouldShareOneLoad() {
+        // GIVEN
+        when(userIdBloomFilter.mightContain(1L)).thenReturn(true);
+        when(cacheOperations.get("users", 1L)).thenReturn(Mono.empty());
+        when(cacheOperations.put("users", 1L, ALICE)).thenReturn(Mono.empty());
+
+        // WHEN
+        final List<User> users = Mono.zip(reactiveUserService.getUserById(1L), reactiveUserService.getUserById(1L),
+                (first, second) -> List.of(first, second))
+            .block();
+
+        // THEN
+        assertThat(users).containsExactly(ALICE, ALICE);
+        verify(cacheOperations, times(1)).put("users", 1L, ALICE);
+        verify(userAccessTracker, timeout(1_000).times(1)).recordAccess(1L);
+    }
+
+    @Test
+    @DisplayName("An unknown user should be cached as a negative entry and not tracked.")
+    void unknownUserShouldBeCachedAsNegativeEntry() {
+        // GIVEN
+        when(userIdBloomFilter.mightContain(404L)).thenReturn(true);
+        when(cacheOperations.get("users", 404L)).thenReturn(Mono.empty());
+        when(cacheOperations.put(eq("users"), eq(404L), any())).thenReturn(Mono.empty());
+
+        // WHEN, THEN
+        StepVerifier.create(reactiveUserService.getUserById(404L))
+            .verifyComplete();
+        verify(cacheOperations).put("users", 404L, null);
+        verify(userAccessTracker, never()).recordAccess(404L);
+    }
+
+    @Test
+    @DisplayName("An ID ruled out by the Bloom filter should not reach Redis.")
+    void bloomFilterShouldRejectUnknownIds() {
+        // GIVEN
+        when(userIdBloomFilter.mightContain(404L)).thenReturn(false);
+
+        // WHEN, THEN
+        StepVerifier.create(reactiveUserService.getUserById(404L))
+            .verifyComplete();
+        verifyNoInteractions(cacheOperations);
+    }
+}
@@ -2,8 +2,15 @@ package com.example.demo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.example.demo.BaseIntegrationTest;
+import com.example.demo.exception.InvalidUserException;
+import com.example.demo.model.BulkImportResult;
 import com.example.demo.model.User;
 import com.example.demo.scheduler.RefreshAheadScheduler;
 import com.example.demo.tracker.UserAccessTracker;
@@ -20,7 +27,10 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * User service test.
@@ -107,6 +117,86 @@ class UserServiceTest extends BaseIntegrationTest
         assertThat(fetched).isEqualTo(newUser);
     }
 
+    @Test
+    @DisplayName("Test getUsersByIds loads misses and caches them for the next call")
+    void testGetUsersByIds() {
+        // GIVEN
+        userService.addUser(new User(6L, "Frank", "frank@example.com", Instant.parse("2025-10-06T00:10:00Z")));
+        cacheManager.getCache("users").clear();
+
+        // WHEN
+        final Duration t1 = measure(() -> userService.getUsersByIds(List.of(1L, 2L, 6L, 404L)));
+        final List<User> users = userService.getUsersByIds(List.of(1L, 2L, 6L, 404L));
+        final Duration t2 = measure(() -> userService.getUsersByIds(List.of(1L, 2L, 6L)));
+
+        // THEN
+        assertThat(users).extracting(User::id).containsExactly(1L, 2L, 6L);
+        assertThat(cacheManager.getCache("users").get(6L, User.class)).isEqualTo(users.get(2));
+        // misses were loaded concurrently rather than one after another
+        assertThat(t1).isLessThan(Duration.ofMillis(1500));
+        assertThat(t2).isLessThan(t1.dividedBy(2));
+        // accesses are recorded once per request, not once per user
+        verify(userAccessTracker, times(3)).recordAccesses(any());
+        verify(userAccessTracker, never()).recordAccess(anyLong());
+    }
+
+    @Test
+    @DisplayName("Test importUsers stores and caches every user, the last of an ID winning")
+    void testImportUsers() {
+        // GIVEN Alice again, two new users and a second version of one of them
+        final User alice = new User(1L, "Alice", "alice@example.com", Instant.parse("2025-10-06T00:00:00Z"));
+        final User judy = new User(801L, "Judy", "judy@example.com", Instant.parse("2025-10-06T00:20:00Z"));
+        final User mallory = new User(802L, "Mallory", "mallory@example.com", Instant.parse("2025-10-06T00:25:00Z"));
+        final User renamedMallory = new User(802L, "Mal", "mallory@example.com", Instant.parse("2025-10-06T00:25:00Z"));
+
+        // WHEN
+        final BulkImportResult result =
+            userService.importUsers(List.of(alice, judy, mallory, renamedMallory).iterator());
+
+        // THEN
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.replaced()).isEqualTo(1);
+        assertThat(result.superseded()).isEqualTo(1);
+        assertThat(result.batches()).isEqualTo(1);
+        assertThat(cacheManager.getCache("users").get(801L, User.class)).isEqualTo(judy);
+        assertThat(cacheManager.getCache("users").get(802L, User.class)).isEqualTo(renamedMallory);
+        assertThat(userService.getUserByIdBypassCache(802L)).isEqualTo(renamedMallory);
+    }
+
+    @Test
+    @DisplayName("Test importUsers rejects a user without ID")
+    void testImportUsersWithoutId() {
+        // GIVEN
+        final List<User> users = List.of(new User(null, "Nobody", "nobody@example.com", Instant.now()));
+
+        // WHEN, THEN
+        assertThatThrownBy(() -> userService.importUsers(users.iterator()))
+            .isInstanceOf(InvalidUserException.class)
+            .hasMessageContaining("#1");
+    }
+
+    @Test
+    @DisplayName("Test streamUsers reads every user once, in ID order, across pages")
+    void testStreamUsers() {
+        // GIVEN more users than fit in one page
+        final List<User> imported = LongStream.rangeClosed(1_001, 1_600)
+            .mapToObj(id -> new User(id, "User " + id, "user" + id + "@example.com",
+                Instant.parse("2025-10-06T00:00:00Z")))
+            .toList();
+        userService.importUsers(imported.iterator());
+
+        // WHEN
+        final List<Long> ids;
+        try (Stream<User> users = userService.streamUsers(1_000L)) {
+            ids = users.map(User::id).toList();
+        }
+
+        // THEN
+        assertThat(ids).startsWith(1_001L).contains(1_600L).isSorted().doesNotHaveDuplicates();
+        assertThat(ids).containsAll(imported.stream().map(User::id).toList());
+    }
+
 //    @Test
 //    @DisplayName("Test removeUser evicts cache")
 //    void testRemoveUser() {
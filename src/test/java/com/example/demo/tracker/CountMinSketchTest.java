@@ -0,0 +1,45 @@
+package com.example.demo.tracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+/**
+ * Unit tests for {@link CountMinSketch}.
+ */
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Estimates should never be below the true count and only slightly above it.")
+    void estimatesShouldBeBoundedOverestimates() {
+        // GIVEN
+        final CountMinSketch sketch = new CountMinSketch(2_048, 4);
+
+        // WHEN: one hot user among 100,000 users accessed once each
+        LongStream.range(0, 1_000).forEach(i -> sketch.add(42L));
+        LongStream.range(1_000, 101_000).forEach(sketch::add);
+
+        // THEN: e / width of the 101,000 accesses is about 134
+        assertThat(sketch.estimate(42L)).isBetween(1_000L, 1_134L);
+        assertThat(LongStream.range(1_000, 1_100).map(sketch::estimate)).allSatisfy(
+            estimate -> assertThat(estimate).isBetween(1L, 135L));
+    }
+
+    @Test
+    @DisplayName("Halving should halve every estimate.")
+    void halveShouldHalveEstimates() {
+        // GIVEN
+        final CountMinSketch sketch = new CountMinSketch(1_024, 4);
+        LongStream.range(0, 10).forEach(i -> sketch.add(7L));
+
+        // WHEN
+        sketch.halve();
+
+        // THEN
+        assertThat(sketch.estimate(7L)).isEqualTo(5L);
+        assertThat(sketch.add(7L)).isEqualTo(6L);
+    }
+}
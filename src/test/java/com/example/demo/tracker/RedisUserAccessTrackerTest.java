@@ -0,0 +1,193 @@
+package com.example.demo.tracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.demo.properties.AccessTrackerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link RedisUserAccessTracker}.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserAccessTrackerTest {
+
+    // 2025-10-06T00:10:30Z, i.e. in the 1-minute bucket 29328490.
+    private static final Instant NOW = Instant.parse("2025-10-06T00:10:30Z");
+    private static final long BUCKET = NOW.toEpochMilli() / 60_000;
+    private static final String BUCKET_KEY = "{hotUsers}:" + BUCKET;
+    private static final byte[] HOT_USERS_KEY = BUCKET_KEY.getBytes(StandardCharsets.UTF_8);
+    // The bucket ends at 00:11, then stays part of the 15-minute window for another 15 buckets.
+    private static final Instant BUCKET_EXPIRY = Instant.parse("2025-10-06T00:26:00Z");
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private AccessTrackerProperties trackerProperties;
+    private RedisUserAccessTracker userAccessTracker;
+
+    @BeforeEach
+    void setUp() {
+        trackerProperties = new AccessTrackerProperties();
+        userAccessTracker = new RedisUserAccessTracker(redisTemplate, trackerProperties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Test direct mode writes every access to Redis straight away.")
+    void recordAccess_directModeShouldWriteImmediately() {
+        // GIVEN
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        // WHEN
+        userAccessTracker.recordAccess(1L);
+        // THEN
+        verify(zSetOperations).incrementScore(BUCKET_KEY, "1", 1);
+        verify(redisTemplate).expireAt(BUCKET_KEY, BUCKET_EXPIRY);
+    }
+
+    @Test
+    @DisplayName("Test buffered mode aggregates accesses and flushes them in one pipeline.")
+    @SuppressWarnings("unchecked")
+    void recordAccess_bufferedModeShouldAggregateAndFlushInOnePipeline() {
+        // GIVEN
+        trackerProperties.setBuffered(true);
+        userAccessTracker.recordAccess(1L);
+        userAccessTracker.recordAccess(1L);
+        userAccessTracker.recordAccess(1L);
+        userAccessTracker.recordAccess(2L);
+        verifyNoInteractions(redisTemplate);
+
+        // WHEN
+        userAccessTracker.flush();
+
+        // THEN
+        final ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate, times(1)).executePipelined(callback.capture());
+
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        callback.getValue().doInRedis(connection);
+
+        verify(zSetCommands).zIncrBy(HOT_USERS_KEY, 3, "1".getBytes(StandardCharsets.UTF_8));
+        verify(zSetCommands).zIncrBy(HOT_USERS_KEY, 1, "2".getBytes(StandardCharsets.UTF_8));
+        verify(keyCommands, times(1)).expireAt(HOT_USERS_KEY, BUCKET_EXPIRY.getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("Test direct mode writes a batch of accesses in one pipeline.")
+    @SuppressWarnings("unchecked")
+    void recordAccesses_directModeShouldWriteInOnePipeline() {
+        // WHEN
+        userAccessTracker.recordAccesses(List.of(1L, 2L));
+
+        // THEN
+        final ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate, times(1)).executePipelined(callback.capture());
+        verify(redisTemplate, never()).opsForZSet();
+
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        callback.getValue().doInRedis(connection);
+
+        verify(zSetCommands).zIncrBy(HOT_USERS_KEY, 1, "1".getBytes(StandardCharsets.UTF_8));
+        verify(zSetCommands).zIncrBy(HOT_USERS_KEY, 1, "2".getBytes(StandardCharsets.UTF_8));
+        verify(keyCommands, times(1)).expireAt(HOT_USERS_KEY, BUCKET_EXPIRY.getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("Test buffered mode drops accesses of new users once the buffer is full.")
+    @SuppressWarnings("unchecked")
+    void recordAccess_bufferedModeShouldDropNewUsersWhenFull() {
+        // GIVEN
+        trackerProperties.setBuffered(true);
+        trackerProperties.setMaxBufferSize(1);
+        userAccessTracker.recordAccess(1L);
+        // WHEN
+        userAccessTracker.recordAccess(2L);
+        userAccessTracker.flush();
+        // THEN
+        final ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(connection.keyCommands()).thenReturn(mock(RedisKeyCommands.class));
+        callback.getValue().doInRedis(connection);
+
+        verify(zSetCommands).zIncrBy(eq(HOT_USERS_KEY), eq(1.0), eq("1".getBytes(StandardCharsets.UTF_8)));
+        verify(zSetCommands, never()).zIncrBy(eq(HOT_USERS_KEY), eq(1.0), eq("2".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Test top hot users merges the buckets of the window with exponentially decaying weights.")
+    @SuppressWarnings("unchecked")
+    void getTopHotUsers_shouldMergeWindowWithDecayingWeights() {
+        // GIVEN
+        trackerProperties.setWindow(Duration.ofMinutes(3));
+        trackerProperties.setDecayHalfLife(Duration.ofMinutes(1));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(startsWith("{hotUsers}:ranking:"), eq(0L), eq(1L)))
+            .thenReturn(new LinkedHashSet<>(List.of("20", "10")));
+
+        // WHEN
+        final Set<Long> hotUsers = userAccessTracker.getTopHotUsers(2);
+
+        // THEN
+        assertThat(hotUsers).containsExactly(20L, 10L);
+        final ArgumentCaptor<Collection<String>> otherKeys = ArgumentCaptor.forClass(Collection.class);
+        final ArgumentCaptor<Weights> weights = ArgumentCaptor.forClass(Weights.class);
+        verify(zSetOperations).unionAndStore(eq(BUCKET_KEY), otherKeys.capture(), startsWith("{hotUsers}:ranking:"),
+            eq(Aggregate.SUM), weights.capture());
+        assertThat(otherKeys.getValue()).containsExactly("{hotUsers}:" + (BUCKET - 1), "{hotUsers}:" + (BUCKET - 2));
+        assertThat(weights.getValue().toArray()).containsExactly(1.0, 0.5, 0.25);
+        verify(redisTemplate).delete(startsWith("{hotUsers}:ranking:"));
+    }
+
+    @Test
+    @DisplayName("Test flushing an empty buffer does not touch Redis.")
+    void flush_shouldDoNothingWhenBufferIsEmpty() {
+        // WHEN
+        userAccessTracker.flush();
+        // THEN
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demo.tracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.demo.properties.AccessTrackerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Unit tests for {@link SketchUserAccessTracker}.
+ */
+@ExtendWith(MockitoExtension.class)
+class SketchUserAccessTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-06T00:10:30Z");
+    private static final String NODE_ID = "node-1";
+    private static final byte[] NODE_KEY = "{hotUsers}:sketch:node:node-1".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TEMP_KEY = "{hotUsers}:sketch:node:node-1:tmp".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NODES_KEY = "{hotUsers}:sketch:nodes".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private SketchUserAccessTracker userAccessTracker;
+
+    @BeforeEach
+    void setUp() {
+        final AccessTrackerProperties trackerProperties = new AccessTrackerProperties();
+        trackerProperties.setTopK(10);
+        userAccessTracker =
+            new SketchUserAccessTracker(redisTemplate, trackerProperties, Clock.fixed(NOW, ZoneOffset.UTC), NODE_ID);
+    }
+
+    @Test
+    @DisplayName("Test recording accesses keeps the heavy hitters in memory without touching Redis.")
+    void recordAccess_shouldKeepHeavyHittersWithoutRedis() {
+        // GIVEN, WHEN: three hot users among 10,000 users accessed once each
+        LongStream.range(0, 300).forEach(i -> userAccessTracker.recordAccess(1L));
+        LongStream.range(0, 200).forEach(i -> userAccessTracker.recordAccess(2L));
+        LongStream.range(0, 100).forEach(i -> userAccessTracker.recordAccess(3L));
+        LongStream.range(1_000, 11_000).forEach(userAccessTracker::recordAccess);
+
+        // THEN
+        assertThat(userAccessTracker.getLocalTopHotUsers(3)).containsExactly(1L, 2L, 3L);
+        assertThat(userAccessTracker.getLocalTopHotUsers(100)).hasSize(10);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Test publishing replaces the node's heavy hitters and registers the node in one pipeline.")
+    @SuppressWarnings("unchecked")
+    void publish_shouldReplaceHeavyHittersInOnePipeline() {
+        // GIVEN
+        userAccessTracker.recordAccess(1L);
+        userAccessTracker.recordAccess(1L);
+        userAccessTracker.recordAccess(2L);
+
+        // WHEN
+        userAccessTracker.publish();
+
+        // THEN
+        final ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        callback.getValue().doInRedis(connection);
+
+        final ArgumentCaptor<Set<Tuple>> tuples = ArgumentCaptor.forClass(Set.class);
+        verify(zSetCommands).zAdd(eq(TEMP_KEY), tuples.capture());
+        assertThat(tuples.getValue()).containsExactlyInAnyOrder(
+            Tuple.of("1".getBytes(StandardCharsets.UTF_8), 2.0), Tuple.of("2".getBytes(StandardCharsets.UTF_8), 1.0));
+        verify(keyCommands).rename(TEMP_KEY, NODE_KEY);
+        verify(zSetCommands).zAdd(NODES_KEY, NOW.toEpochMilli(), NODE_ID.getBytes(StandardCharsets.UTF_8));
+        // Nodes that missed three publications of 10 seconds are dropped.
+        verify(zSetCommands).zRemRangeByScore(NODES_KEY, Double.NEGATIVE_INFINITY, NOW.toEpochMilli() - 30_000);
+    }
+
+    @Test
+    @DisplayName("Test top hot users sums the heavy hitters published by the live nodes.")
+    @SuppressWarnings("unchecked")
+    void getTopHotUsers_shouldMergePublishedHeavyHitters() {
+        // GIVEN
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScore("{hotUsers}:sketch:nodes", NOW.toEpochMilli() - 30_000,
+            Double.POSITIVE_INFINITY)).thenReturn(new LinkedHashSet<>(List.of("node-1", "node-2")));
+        when(zSetOperations.reverseRange(startsWith("{hotUsers}:ranking:"), eq(0L), eq(1L)))
+            .thenReturn(new LinkedHashSet<>(List.of("20", "10")));
+
+        // WHEN
+        final Set<Long> hotUsers = userAccessTracker.getTopHotUsers(2);
+
+        // THEN
+        assertThat(hotUsers).containsExactly(20L, 10L);
+        final ArgumentCaptor<Collection<String>> otherKeys = ArgumentCaptor.forClass(Collection.class);
+        verify(zSetOperations).unionAndStore(eq("{hotUsers}:sketch:node:node-1"), otherKeys.capture(),
+            startsWith("{hotUsers}:ranking:"), eq(Aggregate.SUM));
+        assertThat(otherKeys.getValue()).containsExactly("{hotUsers}:sketch:node:node-2");
+        verify(redisTemplate).delete(startsWith("{hotUsers}:ranking:"));
+    }
+
+    @Test
+    @DisplayName("Test top hot users falls back to the local heavy hitters when no node published yet.")
+    void getTopHotUsers_shouldFallBackToLocalHeavyHitters() {
+        // GIVEN
+        userAccessTracker.recordAccess(5L);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScore(any(), anyDouble(), anyDouble())).thenReturn(Set.of());
+
+        // WHEN
+        final Set<Long> hotUsers = userAccessTracker.getTopHotUsers(2);
+
+        // THEN
+        assertThat(hotUsers).containsExactly(5L);
+        verify(zSetOperations, never()).unionAndStore(any(), any(Collection.class), any(), any(Aggregate.class));
+    }
+
+    @Test
+    @DisplayName("Test decay halves the counts, so that users must stay busy to stay hot.")
+    void decay_shouldHalveCounts() {
+        // GIVEN
+        LongStream.range(0, 10).forEach(i -> userAccessTracker.recordAccess(1L));
+        LongStream.range(0, 7).forEach(i -> userAccessTracker.recordAccess(2L));
+
+        // WHEN
+        userAccessTracker.decay();
+        LongStream.range(0, 5).forEach(i -> userAccessTracker.recordAccess(2L));
+
+        // THEN: user 1 went from 10 to 5, user 2 from 7 to 3 and then 8
+        assertThat(userAccessTracker.getLocalTopHotUsers(2)).containsExactly(2L, 1L);
+    }
+}